@@ -0,0 +1,49 @@
+package com.example.order.dto;
+
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private OrderDto orderDto;
+    private byte[] orderDtoJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<OrderItem> orderItems = new ArrayList<>(itemCount);
+        for (long menuItemId = 1; menuItemId <= itemCount; menuItemId++) {
+            orderItems.add(new OrderItem(menuItemId, "Item " + menuItemId, 99.5, 2));
+        }
+        order = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        orderDtoJson = objectMapper.writeValueAsBytes(orderDto);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderDto() throws Exception {
+        return objectMapper.writeValueAsBytes(orderDto);
+    }
+
+    @Benchmark
+    public OrderDto deserializeOrderDto() throws Exception {
+        return objectMapper.readValue(orderDtoJson, OrderDto.class);
+    }
+}
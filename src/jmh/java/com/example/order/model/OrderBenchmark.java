@@ -0,0 +1,38 @@
+package com.example.order.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        orderItems = new ArrayList<>(itemCount);
+        for (long menuItemId = 1; menuItemId <= itemCount; menuItemId++) {
+            orderItems.add(new OrderItem(menuItemId, "Item " + menuItemId, 99.5, 2));
+        }
+    }
+
+    @Benchmark
+    public Order newOrder() {
+        return new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
+    }
+
+    @Benchmark
+    public double calculateTotalPrice() {
+        return new Order(1L, 1L, "Nizampet, Hyderabad", orderItems).getTotalPrice();
+    }
+
+    @Benchmark
+    public OrderItem newOrderItem() {
+        return new OrderItem(7L, "Farmhouse Pizza", 300.0, 2);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.order.service;
+
+import com.example.order.config.CatalogClientProperties;
+import com.example.order.dto.MenuItemDto;
+import com.example.order.metrics.OrderMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@State(Scope.Benchmark)
+public class CatalogClientServiceBenchmark {
+
+    private static final byte[] MENU_ITEM_JSON =
+            "{\"id\":2,\"name\":\"Farmhouse Pizza\",\"price\":300.0}".getBytes(StandardCharsets.UTF_8);
+
+    private CatalogLookupExecutor catalogLookupExecutor;
+    private ObjectMapper objectMapper;
+    private CatalogClientService catalogClientService;
+
+    @Setup
+    public void setUp() {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        catalogLookupExecutor = new CatalogLookupExecutor(properties);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        catalogClientService = new CatalogClientService(properties, new RestTemplate(), objectMapper,
+                catalogLookupExecutor, new OrderMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        catalogLookupExecutor.destroy();
+    }
+
+    @Benchmark
+    public MenuItemDto decodeMenuItem() {
+        return catalogClientService.decodeMenuItem(new ByteArrayInputStream(MENU_ITEM_JSON));
+    }
+
+    @Benchmark
+    public MenuItemDto decodeMenuItemViaStringCopy() throws IOException {
+        String body = new String(new ByteArrayInputStream(MENU_ITEM_JSON).readAllBytes(), StandardCharsets.UTF_8);
+        return objectMapper.readValue(body, MenuItemDto.class);
+    }
+}
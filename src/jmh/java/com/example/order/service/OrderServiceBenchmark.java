@@ -0,0 +1,78 @@
+package com.example.order.service;
+
+import com.example.order.config.CatalogClientProperties;
+import com.example.order.config.LiveOrderStatsProperties;
+import com.example.order.config.OrderViewCacheProperties;
+import com.example.order.config.OrderWriteCoalescerProperties;
+import com.example.order.dto.MenuItemDto;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import com.example.order.repository.OrderOutboxRepository;
+import com.example.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private CatalogLookupExecutor catalogLookupExecutor;
+    private OrderService orderService;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        Map<Long, MenuItemDto> menuItems = new HashMap<>();
+        orderItems = new ArrayList<>(itemCount);
+        for (long menuItemId = 1; menuItemId <= itemCount; menuItemId++) {
+            menuItems.put(menuItemId, new MenuItemDto(menuItemId, "Item " + menuItemId, 99.5));
+            orderItems.add(new OrderItem(menuItemId, "Item " + menuItemId, 99.5, 2));
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        CatalogClientProperties properties = new CatalogClientProperties();
+        catalogLookupExecutor = new CatalogLookupExecutor(properties);
+        OrderMetrics orderMetrics = new OrderMetrics(new SimpleMeterRegistry());
+        CatalogClientService catalogClientService = new CatalogClientService(properties, new RestTemplate(), objectMapper, catalogLookupExecutor, orderMetrics) {
+            @Override
+            public Map<Long, MenuItemDto> getMenuItemsByIdsAndRestaurantId(Long restaurantId, Collection<Long> menuItemIds) {
+                return menuItems;
+            }
+        };
+        OrderRepository orderRepository = savingRepository(OrderRepository.class);
+        OrderOutbox orderOutbox = new OrderOutbox(orderRepository, savingRepository(OrderOutboxRepository.class), objectMapper);
+        orderService = new OrderService(orderRepository, catalogClientService,
+                new OrderViewCache(new OrderViewCacheProperties(), objectMapper, orderMetrics), orderMetrics,
+                new LiveOrderStats(new LiveOrderStatsProperties()),
+                new OrderWriteCoalescer(new OrderWriteCoalescerProperties(), orderOutbox, null, orderMetrics), orderOutbox);
+    }
+
+    @TearDown
+    public void tearDown() {
+        catalogLookupExecutor.destroy();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+    }
+
+    private static <T> T savingRepository(Class<T> repositoryType) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("save")) {
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.order.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class EmbeddedCatalog implements AutoCloseable {
+    public static final int MENU_SIZE = 50;
+    private static final String PREFIX = "/catalog/restaurants/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyDistribution latency;
+    private final double errorRate;
+
+    public EmbeddedCatalog(LatencyDistribution latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext(PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/catalog/restaurants";
+    }
+
+    public static double priceOf(long menuItemId) {
+        return 50.0 + menuItemId * 10;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        sleep(latency.sample());
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            respond(exchange, 503, "Injected failure");
+            return;
+        }
+
+        String[] segments = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        String query = exchange.getRequestURI().getQuery();
+        if (segments.length == 2 && segments[1].equals("menuItems") && query != null && query.startsWith("ids=")) {
+            StringJoiner items = new StringJoiner(",", "[", "]");
+            for (String id : query.substring("ids=".length()).split(",")) {
+                long menuItemId = Long.parseLong(id);
+                if (menuItemId >= 1 && menuItemId <= MENU_SIZE) {
+                    items.add(menuItemJson(menuItemId));
+                }
+            }
+            respond(exchange, 200, items.toString());
+            return;
+        }
+        if (segments.length == 3 && segments[1].equals("menuItems")) {
+            long menuItemId = Long.parseLong(segments[2]);
+            if (menuItemId >= 1 && menuItemId <= MENU_SIZE) {
+                respond(exchange, 200, menuItemJson(menuItemId));
+                return;
+            }
+        }
+        respond(exchange, 404, "Not Found");
+    }
+
+    private static String menuItemJson(long menuItemId) {
+        return "{\"id\":" + menuItemId + ",\"name\":\"Item " + menuItemId + "\",\"price\":" + priceOf(menuItemId) + "}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", status == 200 ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero() || delay.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
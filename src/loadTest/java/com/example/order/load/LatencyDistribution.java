@@ -0,0 +1,36 @@
+package com.example.order.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LatencyDistribution {
+    private static final double Z_99 = 2.326;
+
+    private final String type;
+    private final double medianMillis;
+    private final double sigma;
+
+    public LatencyDistribution(String type, Duration median, Duration p99) {
+        this.type = type;
+        this.medianMillis = median.toNanos() / 1_000_000.0;
+        this.sigma = p99.compareTo(median) > 0 ? Math.log((double) p99.toNanos() / median.toNanos()) / Z_99 : 0;
+        if (!type.equals("fixed") && !type.equals("uniform") && !type.equals("lognormal")) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + type);
+        }
+    }
+
+    public Duration sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = switch (type) {
+            case "uniform" -> random.nextDouble() * 2 * medianMillis;
+            case "lognormal" -> medianMillis * Math.exp(sigma * random.nextGaussian());
+            default -> medianMillis;
+        };
+        return Duration.ofNanos((long) (millis * 1_000_000));
+    }
+
+    @Override
+    public String toString() {
+        return type + "(median=" + medianMillis + "ms, sigma=" + sigma + ")";
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.order.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In open-loop mode each latency is measured from its scheduled start, so a stalled server shows up as queueing
+ * delay instead of as fewer, faster samples.
+ */
+public class LoadGenerator implements AutoCloseable {
+    public static final List<String> OPERATIONS = List.of("create", "get", "status");
+    private static final List<String> STATUS_CHAIN = List.of("CREATED", "PENDING", "CONFIRMED", "OUT_FOR_DELIVERY", "DELIVERED");
+    private static final int SEED_BATCH_SIZE = 100;
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final String[] weightedOperations;
+    private final List<Long> knownOrderIds = new CopyOnWriteArrayList<>();
+    private final Queue<OrderState> transitionableOrders = new ConcurrentLinkedQueue<>();
+
+    public LoadGenerator(String baseUrl, Map<String, Integer> mix, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+        List<String> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            stats.put(operation, new OperationStats());
+            weighted.addAll(Collections.nCopies(weight, operation));
+        });
+        this.weightedOperations = weighted.toArray(String[]::new);
+    }
+
+    public void seed(int orderCount) throws IOException, InterruptedException {
+        for (int created = 0; created < orderCount; created += SEED_BATCH_SIZE) {
+            List<Map<String, Object>> orders = new ArrayList<>();
+            for (int i = 0; i < Math.min(SEED_BATCH_SIZE, orderCount - created); i++) {
+                orders.add(randomOrder());
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/orders/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(orders))));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding orders failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (result.path("created").asBoolean()) {
+                    long orderId = result.path("orderId").asLong();
+                    knownOrderIds.add(orderId);
+                    transitionableOrders.add(new OrderState(orderId, 0));
+                }
+            }
+        }
+        if (knownOrderIds.isEmpty()) {
+            throw new IllegalStateException("No seed orders could be created");
+        }
+    }
+
+    public void runClosedLoop(int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        runOne(System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    public void runOpenLoop(double requestsPerSecond, Duration duration) {
+        long interval = (long) (1_000_000_000L / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < end; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduledStart = scheduled;
+                requests.submit(() -> runOne(scheduledStart));
+            }
+        }
+    }
+
+    public Map<String, OperationStats> getStats() {
+        return stats;
+    }
+
+    public void resetStats() {
+        stats.values().forEach(OperationStats::reset);
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        httpExecutor.close();
+    }
+
+    private void runOne(long startNanos) {
+        String operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        Boolean succeeded;
+        try {
+            succeeded = switch (operation) {
+                case "create" -> createOrder();
+                case "get" -> getOrder();
+                default -> updateStatus();
+            };
+        } catch (IOException e) {
+            succeeded = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (succeeded != null) {
+            stats.get(operation).record(System.nanoTime() - startNanos, succeeded);
+        }
+    }
+
+    private boolean createOrder() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomOrder()))));
+        return response.statusCode() == 200;
+    }
+
+    private boolean getOrder() throws IOException, InterruptedException {
+        long orderId = knownOrderIds.get(ThreadLocalRandom.current().nextInt(knownOrderIds.size()));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/orders/" + orderId)).GET());
+        return response.statusCode() == 200;
+    }
+
+    private Boolean updateStatus() throws IOException, InterruptedException {
+        OrderState order = transitionableOrders.poll();
+        if (order == null) {
+            return null;
+        }
+        int next = order.statusIndex() + 1;
+        HttpResponse<String> response = send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/orders/" + order.orderId() + "/status/" + STATUS_CHAIN.get(next)))
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        boolean succeeded = response.statusCode() == 200;
+        int reached = succeeded ? next : order.statusIndex();
+        if (reached < STATUS_CHAIN.size() - 1) {
+            transitionableOrders.add(new OrderState(order.orderId(), reached));
+        }
+        return succeeded;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, Object> randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> orderItems = new ArrayList<>();
+        random.ints(1, EmbeddedCatalog.MENU_SIZE + 1).distinct().limit(random.nextInt(1, 6)).forEach(menuItemId -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("menuItemId", menuItemId);
+            item.put("menuItemName", "Item " + menuItemId);
+            item.put("price", EmbeddedCatalog.priceOf(menuItemId));
+            item.put("quantity", random.nextInt(1, 4));
+            orderItems.add(item);
+        });
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("restaurantId", random.nextLong(1, 101));
+        order.put("customerId", random.nextLong(1, 10_001));
+        order.put("deliveryAddress", "Nizampet, Hyderabad");
+        order.put("orderItems", orderItems);
+        return order;
+    }
+
+    private record OrderState(long orderId, int statusIndex) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.order.load;
+
+import com.example.order.OrderApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (EmbeddedCatalog catalog = new EmbeddedCatalog(options.catalogLatency(), options.catalogErrorRate());
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderApplication.class)
+                     .profiles("loadtest")
+                     .run("--server.port=0", "--catalog.client.base-url=" + catalog.getBaseUrl());
+             LoadGenerator generator = new LoadGenerator("http://localhost:"
+                     + ((WebServerApplicationContext) context).getWebServer().getPort(), options.mix(), objectMapper)) {
+            generator.seed(options.seedOrders());
+
+            run(generator, options, options.warmup());
+            generator.resetStats();
+            long start = System.nanoTime();
+            run(generator, options, options.duration());
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Map<String, Object> report = report(options, generator, elapsedSeconds);
+            File output = new File(options.output());
+            output.getAbsoluteFile().getParentFile().mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        }
+    }
+
+    private static void run(LoadGenerator generator, LoadTestOptions options, Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        if (options.mode().equals("open")) {
+            generator.runOpenLoop(options.rate(), duration);
+        } else {
+            generator.runClosedLoop(options.concurrency(), duration);
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestOptions options, LoadGenerator generator, double elapsedSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", options.mode());
+        if (options.mode().equals("open")) {
+            report.put("targetRatePerSecond", options.rate());
+        } else {
+            report.put("concurrency", options.concurrency());
+        }
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("mix", options.mix());
+        report.put("catalogLatency", options.catalogLatency().toString());
+        report.put("catalogErrorRate", options.catalogErrorRate());
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<String, OperationStats> entry : generator.getStats().entrySet()) {
+            OperationStats stats = entry.getValue();
+            operations.put(entry.getKey(), OperationStats.summarize(stats.getLatencies(), stats.getErrors(), elapsedSeconds));
+            total.add(stats.getLatencies());
+            totalErrors += stats.getErrors();
+        }
+        report.put("total", OperationStats.summarize(total, totalErrors, elapsedSeconds));
+        report.put("operations", operations);
+        return report;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.order.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record LoadTestOptions(
+        String mode,
+        int concurrency,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<String, Integer> mix,
+        int seedOrders,
+        String output,
+        LatencyDistribution catalogLatency,
+        double catalogErrorRate) {
+
+    public static LoadTestOptions fromSystemProperties() {
+        String mode = property("load.mode", "closed");
+        if (!mode.equals("closed") && !mode.equals("open")) {
+            throw new IllegalArgumentException("load.mode must be closed or open, was: " + mode);
+        }
+        return new LoadTestOptions(
+                mode,
+                Integer.parseInt(property("load.concurrency", "32")),
+                Double.parseDouble(property("load.rate", "200")),
+                DurationStyle.detectAndParse(property("load.duration", "60s")),
+                DurationStyle.detectAndParse(property("load.warmup", "10s")),
+                parseMix(property("load.mix", "create=20,get=70,status=10")),
+                Integer.parseInt(property("load.seed-orders", "2000")),
+                property("load.output", "build/reports/load-test/results.json"),
+                new LatencyDistribution(property("stub.latency", "lognormal"),
+                        DurationStyle.detectAndParse(property("stub.latency.median", "20ms")),
+                        DurationStyle.detectAndParse(property("stub.latency.p99", "200ms"))),
+                Double.parseDouble(property("stub.error-rate", "0")));
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (!LoadGenerator.OPERATIONS.contains(parts[0])) {
+                throw new IllegalArgumentException("Unknown operation in load.mix: " + parts[0]);
+            }
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
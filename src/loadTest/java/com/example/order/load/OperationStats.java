@@ -0,0 +1,51 @@
+package com.example.order.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats {
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long elapsedNanos, boolean succeeded) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public static Map<String, Object> summarize(Histogram latencies, long errors, double elapsedSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", latencies.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", latencies.getTotalCount() / elapsedSeconds);
+        summary.put("p50Ms", millisAt(latencies, 50));
+        summary.put("p95Ms", millisAt(latencies, 95));
+        summary.put("p99Ms", millisAt(latencies, 99));
+        summary.put("p999Ms", millisAt(latencies, 99.9));
+        summary.put("maxMs", latencies.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    private static double millisAt(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog.client")
+public class CatalogClientProperties {
+    private String baseUrl = "http://localhost:8080/catalog/restaurants";
+    private final Http http = new Http();
+    private final Bulk bulk = new Bulk();
+    private final Lookup lookup = new Lookup();
+    private final Cache cache = new Cache();
+    private final Resilience resilience = new Resilience();
+
+    @Getter
+    @Setter
+    public static class Http {
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration readTimeout = Duration.ofSeconds(2);
+        private Duration connectionRequestTimeout = Duration.ofMillis(500);
+        private int maxConnections = 200;
+        private int maxConnectionsPerHost = 50;
+        private Duration idleConnectionTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+        private boolean enabled = true;
+        private int maxIdsPerRequest = 100;
+        private Duration recheckInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Lookup {
+        private boolean parallel = true;
+        private boolean virtualThreads = false;
+        private int maxConcurrency = 16;
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        private Duration refreshAfterWrite = Duration.ofMinutes(1);
+        private Duration notFoundTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+        private int maxConcurrentCalls = 32;
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.live-stats")
+public class LiveOrderStatsProperties {
+    private Duration window = Duration.ofMinutes(60);
+}
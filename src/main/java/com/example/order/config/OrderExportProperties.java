@@ -0,0 +1,14 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.export")
+public class OrderExportProperties {
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,20 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.intake")
+public class OrderIntakeProperties {
+    private int workers = 8;
+    private int queueCapacity = 500;
+    private Duration retryAfter = Duration.ofSeconds(2);
+    private Duration statusRetention = Duration.ofHours(1);
+    private long maximumTrackedRequests = 100_000;
+    private boolean virtualThreads = false;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,19 @@
+package com.example.order.config;
+
+import com.example.order.service.LoggingOrderEventPublisher;
+import com.example.order.service.OrderEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class OrderOutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OrderEventPublisher.class)
+    public OrderEventPublisher orderEventPublisher() {
+        return new LoggingOrderEventPublisher();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.outbox")
+public class OrderOutboxProperties {
+    private boolean relayEnabled = true;
+    private Duration relayInterval = Duration.ofSeconds(1);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 20;
+    private int maxAttempts = 10;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+    private Duration retention = Duration.ofDays(7);
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,18 @@
+package com.example.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.write-coalescer")
+public class OrderWriteCoalescerProperties {
+    private boolean enabled = false;
+    private int maxBatchSize = 100;
+    private Duration maxWait = Duration.ofMillis(5);
+    private int queueCapacity = 10_000;
+    private Duration commitTimeout = Duration.ofSeconds(5);
+}
@@ -1,22 +1,43 @@
 package com.example.order.controller;
 
+import com.example.order.dto.BatchOrderResultDto;
+import com.example.order.dto.BulkStatusUpdateResultDto;
+import com.example.order.dto.LiveOrderStatsDto;
 import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.dto.OrderIntakeStatusDto;
+import com.example.order.dto.OrderLookupResultDto;
+import com.example.order.dto.OrderPageDto;
+import com.example.order.dto.OrderStatsDto;
+import com.example.order.enums.OrderStatus;
 import com.example.order.model.Order;
+import com.example.order.service.OrderExportService;
+import com.example.order.service.OrderIntakeService;
 import com.example.order.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderIntakeService orderIntakeService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService, OrderIntakeService orderIntakeService) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderIntakeService = orderIntakeService;
     }
 
     @PostMapping
@@ -26,16 +47,79 @@ public class OrderController {
         return ResponseEntity.ok(successMessage);
     }
 
+    @PostMapping("/intake")
+    public ResponseEntity<OrderIntakeStatusDto> submitOrder(@RequestBody OrderDto orderDto) {
+        OrderIntakeStatusDto status = orderIntakeService.submit(orderDto);
+        return ResponseEntity.accepted().location(URI.create("/orders/intake/" + status.getTrackingId())).body(status);
+    }
+
+    @GetMapping("/intake/{trackingId}")
+    public ResponseEntity<OrderIntakeStatusDto> getIntakeStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(orderIntakeService.getStatus(trackingId));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOrderResultDto>> createOrders(@RequestBody List<OrderDto> orderDtos) {
+        List<BatchOrderResultDto> results = orderService.createOrders(orderDtos);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<OrderPageDto> getAllOrders(@RequestParam(required = false) Long restaurantId,
+                                                     @RequestParam(required = false) Long customerId,
+                                                     @RequestParam(required = false) OrderStatus status,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        OrderFilterDto filter = new OrderFilterDto(restaurantId, customerId, status, from, to);
+        OrderPageDto orders = orderService.getOrders(filter, cursor, limit);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<OrderLookupResultDto> getOrdersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(orderService.getOrdersByIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<OrderLookupResultDto> lookupOrders(@RequestBody List<Long> orderIds) {
+        return ResponseEntity.ok(orderService.getOrdersByIds(orderIds));
+    }
+
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportOrders(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(orderExportService.getTimeout().toMillis(), () -> {
+            orderExportService.exportOrders(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsDto> getOrderStats(@RequestParam(required = false) Long restaurantId,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(orderService.getOrderStats(restaurantId, from, to));
+    }
+
+    @GetMapping("/live-stats")
+    public ResponseEntity<List<LiveOrderStatsDto>> getLiveOrderStats(@RequestParam(required = false) Long restaurantId,
+                                                                     @RequestParam(required = false) Integer minutes) {
+        return ResponseEntity.ok(orderService.getLiveOrderStats(restaurantId, minutes));
+    }
+
     @GetMapping("/{orderId}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long orderId) {
-        Order order = orderService.getOrderById(orderId);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<byte[]> getOrderById(@PathVariable Long orderId) {
+        byte[] order = orderService.getOrderViewById(orderId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(order);
+    }
+
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResultDto> dispatchOrders(@RequestBody List<Long> orderIds) {
+        BulkStatusUpdateResultDto result = orderService.dispatchOrders(orderIds);
+        return ResponseEntity.ok(result);
     }
 
     @PutMapping("/{orderId}/status")
@@ -44,5 +128,11 @@ public class OrderController {
         String successMessage = "Order status updated to OUT FOR DELIVERY for order ID: " + orderId;
         return ResponseEntity.ok(successMessage);
     }
-}
 
+    @PutMapping("/{orderId}/status/{targetStatus}")
+    public ResponseEntity<String> transitionOrderStatus(@PathVariable Long orderId, @PathVariable OrderStatus targetStatus) {
+        orderService.transitionOrderStatus(orderId, targetStatus);
+        String successMessage = "Order status updated to " + targetStatus + " for order ID: " + orderId;
+        return ResponseEntity.ok(successMessage);
+    }
+}
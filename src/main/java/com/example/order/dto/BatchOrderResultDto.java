@@ -0,0 +1,23 @@
+package com.example.order.dto;
+
+import com.example.order.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchOrderResultDto {
+    private int index;
+    private boolean created;
+    private Long orderId;
+    private Double totalPrice;
+    private String error;
+
+    public static BatchOrderResultDto created(int index, Order order) {
+        return new BatchOrderResultDto(index, true, order.getId(), order.getTotalPrice(), null);
+    }
+
+    public static BatchOrderResultDto failed(int index, String error) {
+        return new BatchOrderResultDto(index, false, null, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BulkStatusUpdateResultDto {
+    private List<Long> updated;
+    private List<Long> notFound;
+    private List<Long> invalidState;
+}
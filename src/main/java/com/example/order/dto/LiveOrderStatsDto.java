@@ -0,0 +1,16 @@
+package com.example.order.dto;
+
+import com.example.order.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class LiveOrderStatsDto {
+    private Long restaurantId;
+    private int minutes;
+    private long ordersCreated;
+    private Map<OrderStatus, Long> statusCounts;
+}
@@ -0,0 +1,27 @@
+package com.example.order.dto;
+
+import com.example.order.enums.OrderEventType;
+import com.example.order.enums.OrderStatus;
+import com.example.order.model.OrderOutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class OrderEventDto {
+    private Long eventId;
+    private OrderEventType eventType;
+    private Long orderId;
+    private Long restaurantId;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private String payload;
+    private Instant occurredAt;
+
+    public static OrderEventDto from(OrderOutboxEvent event) {
+        return new OrderEventDto(event.getId(), event.getEventType(), event.getOrderId(), event.getRestaurantId(),
+                event.getPreviousStatus(), event.getStatus(), event.getPayload(), event.getCreatedAt());
+    }
+}
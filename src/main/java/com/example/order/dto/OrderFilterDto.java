@@ -0,0 +1,25 @@
+package com.example.order.dto;
+
+import com.example.order.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class OrderFilterDto {
+    private Long restaurantId;
+    private Long customerId;
+    private OrderStatus status;
+    private Instant from;
+    private Instant to;
+
+    public static OrderFilterDto none() {
+        return new OrderFilterDto(null, null, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return restaurantId == null && customerId == null && status == null && from == null && to == null;
+    }
+}
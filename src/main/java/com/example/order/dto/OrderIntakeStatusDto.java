@@ -0,0 +1,30 @@
+package com.example.order.dto;
+
+import com.example.order.enums.IntakeState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderIntakeStatusDto {
+    private String trackingId;
+    private IntakeState state;
+    private Long orderId;
+    private String error;
+
+    public static OrderIntakeStatusDto queued(String trackingId) {
+        return new OrderIntakeStatusDto(trackingId, IntakeState.QUEUED, null, null);
+    }
+
+    public static OrderIntakeStatusDto processing(String trackingId) {
+        return new OrderIntakeStatusDto(trackingId, IntakeState.PROCESSING, null, null);
+    }
+
+    public static OrderIntakeStatusDto created(String trackingId, Long orderId) {
+        return new OrderIntakeStatusDto(trackingId, IntakeState.CREATED, orderId, null);
+    }
+
+    public static OrderIntakeStatusDto failed(String trackingId, String error) {
+        return new OrderIntakeStatusDto(trackingId, IntakeState.FAILED, null, error);
+    }
+}
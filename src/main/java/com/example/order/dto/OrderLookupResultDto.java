@@ -0,0 +1,14 @@
+package com.example.order.dto;
+
+import com.example.order.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderLookupResultDto {
+    private List<Order> orders;
+    private List<Long> missingIds;
+}
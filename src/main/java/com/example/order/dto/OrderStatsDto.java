@@ -0,0 +1,20 @@
+package com.example.order.dto;
+
+import com.example.order.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatsDto {
+    private Long restaurantId;
+    private Instant from;
+    private Instant to;
+    private long orderCount;
+    private double totalRevenue;
+    private double averageBasketSize;
+    private Map<OrderStatus, Long> statusBreakdown;
+}
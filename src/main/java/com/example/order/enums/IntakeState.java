@@ -0,0 +1,8 @@
+package com.example.order.enums;
+
+public enum IntakeState {
+    QUEUED,
+    PROCESSING,
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.example.order.enums;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED
+}
@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class CatalogUnavailableException extends RuntimeException {
+    public CatalogUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.order.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -43,6 +45,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
     }
 
+    @ExceptionHandler(OrdersCannotBeNullOrEmptyException.class)
+    public ResponseEntity<String> handleOrdersCannotBeNullOrEmpty(OrdersCannotBeNullOrEmptyException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
     @ExceptionHandler(RestaurantIdCannotBeNullOrNegativeException.class)
     public ResponseEntity<String> handleRestaurantIdCannotBeNullOrNegative(RestaurantIdCannotBeNullOrNegativeException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
@@ -53,6 +60,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found: " + ex.getMessage());
     }
 
+    @ExceptionHandler(IntakeRequestNotFoundException.class)
+    public ResponseEntity<String> handleIntakeRequestNotFound(IntakeRequestNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found: " + ex.getMessage());
+    }
+
     @ExceptionHandler(MenuItemNotFoundException.class)
     public ResponseEntity<String> handleMenuItemNotFound(MenuItemNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found: " + ex.getMessage());
@@ -63,6 +75,53 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidOrderCursorException.class)
+    public ResponseEntity<String> handleInvalidOrderCursor(InvalidOrderCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(PageSizeOutOfRangeException.class)
+    public ResponseEntity<String> handlePageSizeOutOfRange(PageSizeOutOfRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(TooManyOrderIdsException.class)
+    public ResponseEntity<String> handleTooManyOrderIds(TooManyOrderIdsException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStatsRangeException.class)
+    public ResponseEntity<String> handleInvalidStatsRange(InvalidStatsRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidOrderFilterRangeException.class)
+    public ResponseEntity<String> handleInvalidOrderFilterRange(InvalidOrderFilterRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(OrderStatusConflictException.class)
+    public ResponseEntity<String> handleOrderStatusConflict(OrderStatusConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(CatalogUnavailableException.class)
+    public ResponseEntity<String> handleCatalogUnavailable(CatalogUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Service Unavailable: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(OrderIntakeFullException.class)
+    public ResponseEntity<String> handleOrderIntakeFull(OrderIntakeFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body("Too Many Requests: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Bad Request: Invalid value '" + ex.getValue() + "' for " + ex.getName());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception e) {
         return ResponseEntity.internalServerError().body("An error occurred: " + e.getMessage());
@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class IntakeRequestNotFoundException extends RuntimeException {
+    public IntakeRequestNotFoundException(String message) {
+        super(message);
+    }
+}
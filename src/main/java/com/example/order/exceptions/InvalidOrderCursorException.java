@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class InvalidOrderCursorException extends RuntimeException {
+    public InvalidOrderCursorException(String message) {
+        super(message);
+    }
+}
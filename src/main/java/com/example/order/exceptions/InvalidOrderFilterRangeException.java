@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class InvalidOrderFilterRangeException extends RuntimeException {
+    public InvalidOrderFilterRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class InvalidStatsRangeException extends RuntimeException {
+    public InvalidStatsRangeException(String message) {
+        super(message);
+    }
+}
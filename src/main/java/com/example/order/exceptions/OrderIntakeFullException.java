@@ -0,0 +1,13 @@
+package com.example.order.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class OrderIntakeFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public OrderIntakeFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
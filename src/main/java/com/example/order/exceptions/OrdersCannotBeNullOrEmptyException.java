@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class OrdersCannotBeNullOrEmptyException extends RuntimeException {
+    public OrdersCannotBeNullOrEmptyException(String message) {
+        super(message);
+    }
+}
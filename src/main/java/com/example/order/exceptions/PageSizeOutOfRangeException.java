@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class PageSizeOutOfRangeException extends RuntimeException {
+    public PageSizeOutOfRangeException(String message) {
+        super(message);
+    }
+}
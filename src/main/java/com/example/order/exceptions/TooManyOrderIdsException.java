@@ -0,0 +1,7 @@
+package com.example.order.exceptions;
+
+public class TooManyOrderIdsException extends RuntimeException {
+    public TooManyOrderIdsException(String message) {
+        super(message);
+    }
+}
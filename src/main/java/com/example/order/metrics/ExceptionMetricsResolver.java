@@ -0,0 +1,33 @@
+package com.example.order.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Runs before the other resolvers and never resolves anything itself, so responses are unchanged.
+ */
+@Component
+public class ExceptionMetricsResolver implements HandlerExceptionResolver, Ordered {
+    private final OrderMetrics orderMetrics;
+
+    @Autowired
+    public ExceptionMetricsResolver(OrderMetrics orderMetrics) {
+        this.orderMetrics = orderMetrics;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        orderMetrics.exceptionHandled(ex);
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
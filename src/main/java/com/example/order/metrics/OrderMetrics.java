@@ -0,0 +1,192 @@
+package com.example.order.metrics;
+
+import com.example.order.enums.OrderStatus;
+import com.example.order.exceptions.CatalogUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class OrderMetrics {
+    static final int RESTAURANT_BUCKETS = 16;
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T timeCreateOrder(Supplier<T> createOrder) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return createOrder.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("order.create")
+                    .description("Time to validate, price and store a single order")
+                    .tag("outcome", exception.equals("none") ? "success" : "failure")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public <T> T timeCatalogRequest(String endpoint, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            outcome = catalogOutcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("catalog.requests")
+                    .description("Catalog HTTP requests, including those rejected by the circuit breaker or bulkhead")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void monitorCache(Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public void orderCreated(Long restaurantId) {
+        Counter.builder("orders.created")
+                .description("Orders stored, by restaurant bucket")
+                .tag("restaurant.bucket", String.valueOf(Math.floorMod(restaurantId, RESTAURANT_BUCKETS)))
+                .register(registry)
+                .increment();
+    }
+
+    public void statusTransition(OrderStatus from, OrderStatus to, int count) {
+        if (count == 0) {
+            return;
+        }
+        afterCommit(() -> Counter.builder("order.status.transitions")
+                .description("Successful order status changes")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(registry)
+                .increment(count));
+    }
+
+    public void registerIntakeQueue(Collection<?> queue, int capacity) {
+        Gauge.builder("order.intake.queue.size", queue, Collection::size)
+                .description("Orders accepted for asynchronous intake and waiting for a worker")
+                .register(registry);
+        Gauge.builder("order.intake.queue.capacity", () -> capacity)
+                .description("Maximum number of orders waiting for asynchronous intake")
+                .register(registry);
+    }
+
+    public void intakeRejected() {
+        Counter.builder("order.intake.rejected")
+                .description("Asynchronous intake requests turned away because the queue was full")
+                .register(registry)
+                .increment();
+    }
+
+    public void writeBatch(int size, long durationNanos) {
+        DistributionSummary.builder("order.write.batch.size")
+                .description("Orders persisted together by the write coalescer in one transaction")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(size);
+        Timer.builder("order.write.batch.duration")
+                .description("Time to persist and commit one coalesced batch")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void writeCompleted(long latencyNanos) {
+        Timer.builder("order.write.latency")
+                .description("Time from handing an order to the write coalescer until its batch committed")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void outboxPublished(int count) {
+        Counter.builder("order.outbox.published")
+                .description("Order events delivered from the outbox")
+                .register(registry)
+                .increment(count);
+    }
+
+    public void outboxFailed(int count) {
+        Counter.builder("order.outbox.failed")
+                .description("Order event deliveries that failed and were left in the outbox for retry")
+                .register(registry)
+                .increment(count);
+    }
+
+    public void outboxParked(int count) {
+        Counter.builder("order.outbox.parked")
+                .description("Order events that used up their delivery attempts and are no longer relayed")
+                .register(registry)
+                .increment(count);
+    }
+
+    public void exceptionHandled(Exception exception) {
+        Counter.builder("order.exceptions")
+                .description("Exceptions turned into error responses, by type")
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private static String catalogOutcome(RuntimeException e) {
+        if (e instanceof CatalogUnavailableException) {
+            return "rejected";
+        }
+        if (e instanceof HttpClientErrorException.NotFound) {
+            return "not_found";
+        }
+        if (e instanceof HttpClientErrorException) {
+            return "client_error";
+        }
+        if (e instanceof HttpServerErrorException) {
+            return "server_error";
+        }
+        if (e instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
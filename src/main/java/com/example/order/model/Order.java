@@ -5,18 +5,27 @@ import com.example.order.exceptions.CustomerIdCannotBeNullOrNegativeException;
 import com.example.order.exceptions.DeliveryAddressCannotBeNullOrEmpty;
 import com.example.order.exceptions.OrderItemsCannotBeNullOrEmptyException;
 import com.example.order.exceptions.RestaurantIdCannotBeNullOrNegativeException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 @Getter
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_restaurant_created_at", columnList = "restaurant_id, created_at"),
+        @Index(name = "idx_orders_restaurant_status_id", columnList = "restaurant_id, status, id"),
+        @Index(name = "idx_orders_customer_id", columnList = "customer_id, id")
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     private Long restaurantId;
@@ -29,8 +38,17 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @OneToMany(cascade = CascadeType.ALL)
-    @JoinColumn(name = "order_id")
+    @CreationTimestamp
+    @Column(updatable = false, columnDefinition = "timestamp(6) with time zone default current_timestamp not null")
+    private Instant createdAt;
+
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<OrderItem> orderItems;
 
     public Order(Long restaurantId, Long customerId, String deliveryAddress, List<OrderItem> orderItems) {
@@ -52,6 +70,7 @@ public class Order {
         this.totalPrice = calculateTotalPrice(orderItems);
         this.status = OrderStatus.CREATED;
         this.orderItems = orderItems;
+        orderItems.forEach(item -> item.setOrder(this));
     }
 
     public Order() {}
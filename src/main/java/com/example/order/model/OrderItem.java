@@ -4,6 +4,7 @@ import com.example.order.exceptions.MenuItemIdCannotBeNullOrNegativeException;
 import com.example.order.exceptions.MenuItemNameCannotBeNullOrEmptyException;
 import com.example.order.exceptions.PriceCannotBeNullOrNegativeException;
 import com.example.order.exceptions.QuantityCannotBeNullOrNegativeException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 
@@ -12,7 +13,8 @@ import lombok.Getter;
 @Table(name = "orderItems")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     private Long menuItemId;
@@ -20,6 +22,11 @@ public class OrderItem {
     private double price;
     private int quantity;
 
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private Order order;
+
     public OrderItem(Long menuItemId, String menuItemName, double price, int quantity) {
         if (menuItemId == null || menuItemId <= 0) {
             throw new MenuItemIdCannotBeNullOrNegativeException("Menu item ID cannot be null and must be greater than zero");
@@ -40,4 +47,8 @@ public class OrderItem {
     }
 
     public OrderItem() {}
+
+    void setOrder(Order order) {
+        this.order = order;
+    }
 }
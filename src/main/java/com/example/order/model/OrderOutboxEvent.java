@@ -0,0 +1,54 @@
+package com.example.order.model;
+
+import com.example.order.enums.OrderEventType;
+import com.example.order.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Getter
+@Entity
+@Table(name = "order_outbox", indexes = @Index(name = "idx_order_outbox_published_at_id", columnList = "published_at, id"))
+public class OrderOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    private Long orderId;
+    private Long restaurantId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+    private int attempts;
+    private String lastError;
+    private Instant nextAttemptAt;
+
+    public OrderOutboxEvent(OrderEventType eventType, Long orderId, Long restaurantId, OrderStatus previousStatus, OrderStatus status, String payload) {
+        this.eventType = eventType;
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.payload = payload;
+    }
+
+    public OrderOutboxEvent() {}
+}
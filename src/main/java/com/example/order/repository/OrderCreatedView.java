@@ -0,0 +1,9 @@
+package com.example.order.repository;
+
+import java.time.Instant;
+
+public interface OrderCreatedView {
+    Long getRestaurantId();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,29 @@
+package com.example.order.repository;
+
+import com.example.order.model.OrderOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+    @Query(value = "select * from order_outbox where published_at is null and attempts < :maxAttempts"
+            + " and (next_attempt_at is null or next_attempt_at <= :now) order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OrderOutboxEvent> lockUnpublished(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update OrderOutboxEvent e set e.publishedAt = :publishedAt, e.attempts = e.attempts + 1 where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("update OrderOutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error, e.nextAttemptAt = :nextAttemptAt where e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("delete from OrderOutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,7 +1,67 @@
 package com.example.order.repository;
 
+import com.example.order.enums.OrderStatus;
 import com.example.order.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderStatusBatchUpdate {
+    @Override
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findById(Long id);
+
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findByIdIn(Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.id")
+    Stream<Order> streamAllOrders();
+
+    @Query("select o.id as id, o.restaurantId as restaurantId, o.status as status, o.version as version from Order o where o.id in :ids")
+    List<OrderStatusView> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select o.id as id, o.restaurantId as restaurantId, o.status as status, o.version as version from Order o where o.id = :id")
+    Optional<OrderStatusView> findStatusById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Order o set o.status = :newStatus, o.version = o.version + 1 where o.id = :id and o.version = :version")
+    int compareAndSetStatus(@Param("id") Long id, @Param("version") Long version, @Param("newStatus") OrderStatus newStatus);
+
+    @Query("select count(o) as orderCount, coalesce(sum(o.totalPrice), 0.0) as totalRevenue from Order o " +
+            "where o.restaurantId = :restaurantId and o.createdAt >= :from and o.createdAt < :to")
+    OrderTotalsView sumTotals(@Param("restaurantId") Long restaurantId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select coalesce(sum(i.quantity), 0) from OrderItem i join i.order o " +
+            "where o.restaurantId = :restaurantId and o.createdAt >= :from and o.createdAt < :to")
+    Long sumItemQuantities(@Param("restaurantId") Long restaurantId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select o.status as status, count(o) as orderCount from Order o " +
+            "where o.restaurantId = :restaurantId and o.createdAt >= :from and o.createdAt < :to group by o.status")
+    List<OrderStatusCountView> countByStatus(@Param("restaurantId") Long restaurantId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select o.restaurantId as restaurantId, o.status as status, count(o) as orderCount from Order o group by o.restaurantId, o.status")
+    List<RestaurantStatusCountView> countByRestaurantAndStatus();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select o.restaurantId as restaurantId, o.createdAt as createdAt from Order o where o.createdAt >= :since")
+    Stream<OrderCreatedView> streamCreatedSince(@Param("since") Instant since);
 }
@@ -0,0 +1,29 @@
+package com.example.order.repository;
+
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.model.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class OrderSpecifications {
+    private OrderSpecifications() {}
+
+    public static Specification<Order> matching(OrderFilterDto filter, Long afterId) {
+        Specification<Order> specification = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        if (filter.getRestaurantId() != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("restaurantId"), filter.getRestaurantId()));
+        }
+        if (filter.getCustomerId() != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("customerId"), filter.getCustomerId()));
+        }
+        if (filter.getStatus() != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specification = specification.and((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.getTo()));
+        }
+        return specification;
+    }
+}
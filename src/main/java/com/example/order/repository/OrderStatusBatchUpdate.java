@@ -0,0 +1,12 @@
+package com.example.order.repository;
+
+import com.example.order.enums.OrderStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderStatusBatchUpdate {
+    Optional<Long> updateStatusIfCurrent(Long id, OrderStatus expectedStatus, OrderStatus newStatus);
+
+    int[] updateEachStatusIfCurrent(List<Long> ids, OrderStatus expectedStatus, OrderStatus newStatus);
+}
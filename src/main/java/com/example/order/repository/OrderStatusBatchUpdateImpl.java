@@ -0,0 +1,57 @@
+package com.example.order.repository;
+
+import com.example.order.enums.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The per-statement counts say exactly which orders this call moved; callers rely on them instead of row locks.
+ */
+public class OrderStatusBatchUpdateImpl implements OrderStatusBatchUpdate {
+    private static final String UPDATE_STATUS_IF_CURRENT =
+            "update orders set status = ?, version = version + 1 where id = ? and status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderStatusBatchUpdateImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Long> updateStatusIfCurrent(Long id, OrderStatus expectedStatus, OrderStatus newStatus) {
+        GeneratedKeyHolder restaurantId = new GeneratedKeyHolder();
+        int updated = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_IF_CURRENT, new String[]{"restaurant_id"});
+            statement.setString(1, newStatus.name());
+            statement.setLong(2, id);
+            statement.setString(3, expectedStatus.name());
+            return statement;
+        }, restaurantId);
+        return updated == 0 ? Optional.empty() : Optional.of(restaurantId.getKey().longValue());
+    }
+
+    @Override
+    public int[] updateEachStatusIfCurrent(List<Long> ids, OrderStatus expectedStatus, OrderStatus newStatus) {
+        return jdbcTemplate.batchUpdate(UPDATE_STATUS_IF_CURRENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setString(1, newStatus.name());
+                statement.setLong(2, ids.get(i));
+                statement.setString(3, expectedStatus.name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+}
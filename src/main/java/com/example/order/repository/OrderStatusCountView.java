@@ -0,0 +1,8 @@
+package com.example.order.repository;
+
+import com.example.order.enums.OrderStatus;
+
+public interface OrderStatusCountView {
+    OrderStatus getStatus();
+    Long getOrderCount();
+}
@@ -0,0 +1,13 @@
+package com.example.order.repository;
+
+import com.example.order.enums.OrderStatus;
+
+public interface OrderStatusView {
+    Long getId();
+
+    Long getRestaurantId();
+
+    OrderStatus getStatus();
+
+    Long getVersion();
+}
@@ -0,0 +1,6 @@
+package com.example.order.repository;
+
+public interface OrderTotalsView {
+    Long getOrderCount();
+    Double getTotalRevenue();
+}
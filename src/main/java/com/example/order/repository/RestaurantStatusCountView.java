@@ -0,0 +1,5 @@
+package com.example.order.repository;
+
+public interface RestaurantStatusCountView extends OrderStatusCountView {
+    Long getRestaurantId();
+}
@@ -0,0 +1,23 @@
+package com.example.order.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "catalogcache")
+public class CatalogCacheEndpoint {
+    private final CatalogClientService catalogClientService;
+
+    @Autowired
+    public CatalogCacheEndpoint(CatalogClientService catalogClientService) {
+        this.catalogClientService = catalogClientService;
+    }
+
+    @DeleteOperation
+    public void invalidateRestaurant(@Selector Long restaurantId) {
+        catalogClientService.invalidateRestaurant(restaurantId);
+    }
+}
@@ -1,41 +1,286 @@
 package com.example.order.service;
 
+import com.example.order.config.CatalogClientProperties;
 import com.example.order.dto.MenuItemDto;
+import com.example.order.exceptions.CatalogUnavailableException;
+import com.example.order.exceptions.MenuItemNotFoundException;
+import com.example.order.metrics.OrderMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.ParameterizedTypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class CatalogClientService {
-    private static final String BASE_URL = "http://localhost:8080/catalog/restaurants";
+    private final String baseUrl;
+    private final RestTemplate restTemplate;
+    private final ObjectReader menuItemReader;
+    private final ObjectReader menuItemListReader;
+    private final CatalogLookupExecutor catalogLookupExecutor;
+    private final CatalogClientProperties.Bulk bulk;
+    private final LoadingCache<MenuItemKey, CachedMenuItem> menuItemCache;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final OrderMetrics orderMetrics;
+    private volatile long bulkEndpointUnavailableUntil;
+
+    @Autowired
+    public CatalogClientService(CatalogClientProperties properties, RestTemplate restTemplate, ObjectMapper objectMapper,
+                                CatalogLookupExecutor catalogLookupExecutor, OrderMetrics orderMetrics) {
+        this.baseUrl = properties.getBaseUrl();
+        this.restTemplate = restTemplate;
+        this.menuItemReader = objectMapper.readerFor(MenuItemDto.class);
+        this.menuItemListReader = objectMapper.readerForListOf(MenuItemDto.class);
+        this.catalogLookupExecutor = catalogLookupExecutor;
+        this.bulk = properties.getBulk();
+        this.menuItemCache = properties.getCache().isEnabled()
+                ? buildMenuItemCache(properties.getCache(), properties.getLookup().isVirtualThreads()) : null;
+        this.circuitBreaker = buildCircuitBreaker(properties.getResilience());
+        this.bulkhead = buildBulkhead(properties.getResilience());
+        this.orderMetrics = orderMetrics;
+        if (menuItemCache != null) {
+            orderMetrics.monitorCache(menuItemCache, "catalog.menu.items");
+        }
+    }
 
     public MenuItemDto getMenuItemByIdAndRestaurantId(Long restaurantId, Long menuItemId) {
-        RestTemplate restTemplate = new RestTemplate();
-        String url = BASE_URL + "/" + restaurantId + "/menuItems/" + menuItemId;
-        ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {
-                });
-
-        String rawResponse = response.getBody();
-        ObjectMapper objectMapper = new ObjectMapper();
-        MenuItemDto menuItem;
+        MenuItemDto menuItem = menuItemCache == null
+                ? fetchMenuItemIfPresent(restaurantId, menuItemId)
+                : menuItemCache.get(new MenuItemKey(restaurantId, menuItemId)).menuItem();
+        if (menuItem == null) {
+            throw new MenuItemNotFoundException("Menu item with restaurant id: " + restaurantId + " and menu item id: " + menuItemId + " is not found");
+        }
+        return menuItem;
+    }
+
+    public Map<Long, MenuItemDto> getMenuItemsByIdsAndRestaurantId(Long restaurantId, Collection<Long> menuItemIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(menuItemIds);
+        if (menuItemCache == null) {
+            return fetchMenuItems(restaurantId, uniqueIds);
+        }
+
+        List<MenuItemKey> keys = uniqueIds.stream().map(menuItemId -> new MenuItemKey(restaurantId, menuItemId)).toList();
+        Map<Long, MenuItemDto> menuItems = new LinkedHashMap<>();
+        menuItemCache.getAll(keys).forEach((key, cached) -> {
+            if (cached.menuItem() != null) {
+                menuItems.put(key.menuItemId(), cached.menuItem());
+            }
+        });
+        return menuItems;
+    }
+
+    public void invalidateRestaurant(Long restaurantId) {
+        if (menuItemCache != null) {
+            menuItemCache.asMap().keySet().removeIf(key -> key.restaurantId().equals(restaurantId));
+        }
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private MenuItemDto fetchMenuItem(Long restaurantId, Long menuItemId) {
+        URI uri = URI.create(baseUrl + "/" + restaurantId + "/menuItems/" + menuItemId);
+        return callCatalog("item", () -> restTemplate.execute(uri, HttpMethod.GET, null, response -> decodeMenuItem(response.getBody())));
+    }
 
+    private Map<Long, MenuItemDto> fetchMenuItems(Long restaurantId, Set<Long> menuItemIds) {
+        if (bulk.isEnabled() && System.currentTimeMillis() >= bulkEndpointUnavailableUntil) {
+            try {
+                return fetchMenuItemsInBulk(restaurantId, menuItemIds);
+            } catch (HttpClientErrorException.MethodNotAllowed | HttpServerErrorException.NotImplemented e) {
+                markBulkEndpointUnavailable();
+            } catch (HttpClientErrorException.NotFound e) {
+                // Either the bulk route is missing or the restaurant is unknown. Only the first leaves items to find.
+                Map<Long, MenuItemDto> menuItems = fetchMenuItemsIndividually(restaurantId, menuItemIds);
+                if (!menuItems.isEmpty()) {
+                    markBulkEndpointUnavailable();
+                }
+                return menuItems;
+            }
+        }
+        return fetchMenuItemsIndividually(restaurantId, menuItemIds);
+    }
+
+    private void markBulkEndpointUnavailable() {
+        bulkEndpointUnavailableUntil = System.currentTimeMillis() + bulk.getRecheckInterval().toMillis();
+    }
+
+    private Map<Long, MenuItemDto> fetchMenuItemsInBulk(Long restaurantId, Set<Long> menuItemIds) {
+        Map<Long, MenuItemDto> menuItems = new HashMap<>();
+        List<Long> ids = new ArrayList<>(menuItemIds);
+        for (int from = 0; from < ids.size(); from += bulk.getMaxIdsPerRequest()) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulk.getMaxIdsPerRequest(), ids.size()));
+            String joinedIds = chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+            URI uri = URI.create(baseUrl + "/" + restaurantId + "/menuItems?ids=" + joinedIds);
+            List<MenuItemDto> fetched = callCatalog("bulk", () -> restTemplate.execute(uri, HttpMethod.GET, null, response -> decodeMenuItems(response.getBody())));
+            for (MenuItemDto menuItem : fetched) {
+                if (menuItemIds.contains(menuItem.getId())) {
+                    menuItems.put(menuItem.getId(), menuItem);
+                }
+            }
+        }
+        return menuItems;
+    }
+
+    private Map<Long, MenuItemDto> fetchMenuItemsIndividually(Long restaurantId, Set<Long> menuItemIds) {
+        List<Long> ids = new ArrayList<>(menuItemIds);
+        List<MenuItemDto> fetched;
         try {
-            menuItem = objectMapper.readValue(rawResponse, MenuItemDto.class);
+            fetched = catalogLookupExecutor.mapAll(ids, menuItemId -> fetchMenuItemIfPresent(restaurantId, menuItemId));
+        } catch (TimeoutException e) {
+            throw new CatalogUnavailableException("Catalog service did not return the menu items of restaurant id: " + restaurantId + " in time, please retry later");
+        }
+        Map<Long, MenuItemDto> menuItems = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (fetched.get(i) != null) {
+                menuItems.put(ids.get(i), fetched.get(i));
+            }
+        }
+        return menuItems;
+    }
+
+    private MenuItemDto fetchMenuItemIfPresent(Long restaurantId, Long menuItemId) {
+        try {
+            return fetchMenuItem(restaurantId, menuItemId);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    private <T> T callCatalog(String endpoint, Supplier<T> request) {
+        return orderMetrics.timeCatalogRequest(endpoint, () -> {
+            try {
+                return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, request)).get();
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                throw new CatalogUnavailableException("Catalog service is unavailable, please retry later");
+            }
+        });
+    }
+
+    MenuItemDto decodeMenuItem(InputStream body) {
+        try {
+            return menuItemReader.readValue(body);
         } catch (IOException e) {
             throw new RuntimeException("Failed to parse menu item response", e);
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
         }
+    }
 
-        return menuItem;
+    private List<MenuItemDto> decodeMenuItems(InputStream body) {
+        try {
+            return menuItemListReader.readValue(body);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse menu items response", e);
+        }
+    }
+
+    /**
+     * A synchronous Caffeine cache loads under a monitor, which would pin a virtual thread to its carrier for the
+     * whole catalog call; with virtual threads the cache is built asynchronously instead.
+     */
+    private LoadingCache<MenuItemKey, CachedMenuItem> buildMenuItemCache(CatalogClientProperties.Cache cache, boolean virtualThreads) {
+        Caffeine<MenuItemKey, CachedMenuItem> builder = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfter(new MenuItemExpiry(cache.getExpireAfterWrite(), cache.getNotFoundTtl()))
+                .refreshAfterWrite(cache.getRefreshAfterWrite())
+                .recordStats();
+        if (virtualThreads) {
+            ThreadFactory loadThreads = Thread.ofVirtual().name("catalog-cache-load-", 0).factory();
+            return builder.executor(task -> loadThreads.newThread(task).start())
+                    .buildAsync(new MenuItemLoader())
+                    .synchronous();
+        }
+        return builder.build(new MenuItemLoader());
+    }
+
+    private static CircuitBreaker buildCircuitBreaker(CatalogClientProperties.Resilience resilience) {
+        return CircuitBreaker.of("catalog", CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+    }
+
+    private static Bulkhead buildBulkhead(CatalogClientProperties.Resilience resilience) {
+        return Bulkhead.of("catalog", BulkheadConfig.custom()
+                .maxConcurrentCalls(resilience.getMaxConcurrentCalls())
+                .maxWaitDuration(resilience.getMaxWaitDuration())
+                .build());
+    }
+
+    private class MenuItemLoader implements CacheLoader<MenuItemKey, CachedMenuItem> {
+        @Override
+        public CachedMenuItem load(MenuItemKey key) {
+            return new CachedMenuItem(fetchMenuItemIfPresent(key.restaurantId(), key.menuItemId()));
+        }
+
+        @Override
+        public Map<MenuItemKey, CachedMenuItem> loadAll(Set<? extends MenuItemKey> keys) {
+            Map<Long, Set<Long>> menuItemIdsByRestaurant = new LinkedHashMap<>();
+            for (MenuItemKey key : keys) {
+                menuItemIdsByRestaurant.computeIfAbsent(key.restaurantId(), restaurantId -> new LinkedHashSet<>()).add(key.menuItemId());
+            }
+
+            Map<MenuItemKey, CachedMenuItem> loaded = new HashMap<>();
+            menuItemIdsByRestaurant.forEach((restaurantId, menuItemIds) -> {
+                Map<Long, MenuItemDto> fetched = fetchMenuItems(restaurantId, menuItemIds);
+                for (Long menuItemId : menuItemIds) {
+                    loaded.put(new MenuItemKey(restaurantId, menuItemId), new CachedMenuItem(fetched.get(menuItemId)));
+                }
+            });
+            return loaded;
+        }
+    }
+
+    private record MenuItemKey(Long restaurantId, Long menuItemId) {
+    }
+
+    private record CachedMenuItem(MenuItemDto menuItem) {
+    }
+
+    private record MenuItemExpiry(Duration found, Duration notFound) implements Expiry<MenuItemKey, CachedMenuItem> {
+        @Override
+        public long expireAfterCreate(MenuItemKey key, CachedMenuItem value, long currentTime) {
+            return (value.menuItem() == null ? notFound : found).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(MenuItemKey key, CachedMenuItem value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(MenuItemKey key, CachedMenuItem value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,92 @@
+package com.example.order.service;
+
+import com.example.order.config.CatalogClientProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class CatalogLookupExecutor implements DisposableBean {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean parallel;
+    private final Duration timeout;
+
+    @Autowired
+    public CatalogLookupExecutor(CatalogClientProperties properties) {
+        CatalogClientProperties.Lookup lookup = properties.getLookup();
+        this.parallel = lookup.isParallel();
+        this.timeout = lookup.getTimeout();
+        if (lookup.isVirtualThreads()) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catalog-lookup-", 0).factory());
+            this.permits = new Semaphore(lookup.getMaxConcurrency());
+        } else {
+            this.executor = Executors.newFixedThreadPool(lookup.getMaxConcurrency(),
+                    Thread.ofPlatform().name("catalog-lookup-", 0).daemon(true).factory());
+            this.permits = null;
+        }
+    }
+
+    public <T, R> List<R> mapAll(List<T> inputs, Function<T, R> lookup) throws TimeoutException {
+        if (!parallel || inputs.size() < 2) {
+            return inputs.stream().map(lookup).collect(Collectors.toList());
+        }
+
+        List<Callable<R>> tasks = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            tasks.add(permits == null ? () -> lookup.apply(input) : () -> applyWithPermit(lookup, input));
+        }
+
+        List<Future<R>> futures;
+        try {
+            futures = executor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for catalog lookups");
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            if (future.isCancelled()) {
+                throw new TimeoutException("Catalog lookups did not complete within " + timeout.toMillis() + " ms");
+            }
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for catalog lookups");
+            }
+        }
+        return results;
+    }
+
+    private <T, R> R applyWithPermit(Function<T, R> lookup, T input) throws InterruptedException {
+        permits.acquire();
+        try {
+            return lookup.apply(input);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
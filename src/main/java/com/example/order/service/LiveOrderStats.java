@@ -0,0 +1,173 @@
+package com.example.order.service;
+
+import com.example.order.config.LiveOrderStatsProperties;
+import com.example.order.dto.LiveOrderStatsDto;
+import com.example.order.enums.OrderStatus;
+import com.example.order.repository.OrderCreatedView;
+import com.example.order.repository.RestaurantStatusCountView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+@Component
+public class LiveOrderStats {
+    private static final long MILLIS_PER_MINUTE = 60_000;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final int windowMinutes;
+    private final Clock clock;
+    private volatile ConcurrentHashMap<Long, RestaurantCounters> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveOrderStats(LiveOrderStatsProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    LiveOrderStats(LiveOrderStatsProperties properties, Clock clock) {
+        this.windowMinutes = Math.max(1, (int) properties.getWindow().toMinutes());
+        this.clock = clock;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    public void orderCreated(Long restaurantId) {
+        afterCommit(() -> {
+            RestaurantCounters restaurant = countersFor(counters, restaurantId);
+            restaurant.recordCreated(currentMinute());
+            restaurant.statusCounts[OrderStatus.CREATED.ordinal()].increment();
+        });
+    }
+
+    public void statusChanged(Long restaurantId, OrderStatus from, OrderStatus to) {
+        afterCommit(() -> {
+            RestaurantCounters restaurant = countersFor(counters, restaurantId);
+            restaurant.statusCounts[from.ordinal()].decrement();
+            restaurant.statusCounts[to.ordinal()].increment();
+        });
+    }
+
+    /**
+     * Updates landing between the database reads and the swap are lost, so this only runs on startup, before the web
+     * server accepts requests.
+     */
+    public void rebuild(List<RestaurantStatusCountView> statusCounts, Stream<OrderCreatedView> createdInWindow) {
+        ConcurrentHashMap<Long, RestaurantCounters> rebuilt = new ConcurrentHashMap<>();
+        for (RestaurantStatusCountView count : statusCounts) {
+            countersFor(rebuilt, count.getRestaurantId()).statusCounts[count.getStatus().ordinal()].add(count.getOrderCount());
+        }
+        long oldestMinute = currentMinute() - windowMinutes + 1;
+        createdInWindow.forEach(created -> {
+            if (created.getCreatedAt() == null) {
+                return;
+            }
+            long minute = created.getCreatedAt().toEpochMilli() / MILLIS_PER_MINUTE;
+            if (minute >= oldestMinute) {
+                countersFor(rebuilt, created.getRestaurantId()).recordCreated(minute);
+            }
+        });
+        counters = rebuilt;
+    }
+
+    public LiveOrderStatsDto snapshot(Long restaurantId, int minutes) {
+        return snapshot(restaurantId, counters.get(restaurantId), minutes);
+    }
+
+    public List<LiveOrderStatsDto> snapshotAll(int minutes) {
+        List<LiveOrderStatsDto> snapshots = new ArrayList<>();
+        new TreeMap<>(counters).forEach((restaurantId, restaurant) -> snapshots.add(snapshot(restaurantId, restaurant, minutes)));
+        return snapshots;
+    }
+
+    private LiveOrderStatsDto snapshot(Long restaurantId, RestaurantCounters restaurant, int minutes) {
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            statusCounts.put(status, restaurant == null ? 0L : restaurant.statusCounts[status.ordinal()].sum());
+        }
+        long now = currentMinute();
+        long created = restaurant == null ? 0 : restaurant.createdBetween(now - minutes + 1, now);
+        return new LiveOrderStatsDto(restaurantId, minutes, created, statusCounts);
+    }
+
+    private RestaurantCounters countersFor(ConcurrentHashMap<Long, RestaurantCounters> map, Long restaurantId) {
+        RestaurantCounters restaurant = map.get(restaurantId);
+        return restaurant != null ? restaurant : map.computeIfAbsent(restaurantId, id -> new RestaurantCounters(windowMinutes));
+    }
+
+    private long currentMinute() {
+        return clock.millis() / MILLIS_PER_MINUTE;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static final class RestaurantCounters {
+        private final LongAdder[] statusCounts = new LongAdder[STATUSES.length];
+        private final AtomicReferenceArray<MinuteBucket> createdPerMinute;
+
+        private RestaurantCounters(int windowMinutes) {
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] = new LongAdder();
+            }
+            createdPerMinute = new AtomicReferenceArray<>(windowMinutes);
+        }
+
+        private void recordCreated(long minute) {
+            int slot = (int) (minute % createdPerMinute.length());
+            while (true) {
+                MinuteBucket bucket = createdPerMinute.get(slot);
+                if (bucket != null && bucket.minute == minute) {
+                    bucket.count.increment();
+                    return;
+                }
+                if (bucket != null && bucket.minute > minute) {
+                    return;
+                }
+                MinuteBucket fresh = new MinuteBucket(minute);
+                fresh.count.increment();
+                if (createdPerMinute.compareAndSet(slot, bucket, fresh)) {
+                    return;
+                }
+            }
+        }
+
+        private long createdBetween(long firstMinute, long lastMinute) {
+            long total = 0;
+            for (int slot = 0; slot < createdPerMinute.length(); slot++) {
+                MinuteBucket bucket = createdPerMinute.get(slot);
+                if (bucket != null && bucket.minute >= firstMinute && bucket.minute <= lastMinute) {
+                    total += bucket.count.sum();
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class MinuteBucket {
+        private final long minute;
+        private final LongAdder count = new LongAdder();
+
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
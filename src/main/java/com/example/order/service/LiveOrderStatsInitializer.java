@@ -0,0 +1,20 @@
+package com.example.order.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LiveOrderStatsInitializer implements SmartInitializingSingleton {
+    private final OrderService orderService;
+
+    @Autowired
+    public LiveOrderStatsInitializer(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        orderService.rebuildLiveOrderStats();
+    }
+}
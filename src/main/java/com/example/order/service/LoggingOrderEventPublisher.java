@@ -0,0 +1,18 @@
+package com.example.order.service;
+
+import com.example.order.dto.OrderEventDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+public class LoggingOrderEventPublisher implements OrderEventPublisher {
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        for (OrderEventDto event : events) {
+            log.info("Order event {} {} for order {} (restaurant {}, status {})",
+                    event.getEventId(), event.getEventType(), event.getOrderId(), event.getRestaurantId(), event.getStatus());
+        }
+    }
+}
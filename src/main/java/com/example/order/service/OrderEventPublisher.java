@@ -0,0 +1,12 @@
+package com.example.order.service;
+
+import com.example.order.dto.OrderEventDto;
+
+import java.util.List;
+
+/**
+ * A failed publish is offered again on a later run, so implementations must tolerate redelivery.
+ */
+public interface OrderEventPublisher {
+    void publish(List<OrderEventDto> events);
+}
@@ -0,0 +1,72 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderExportProperties;
+import com.example.order.model.Order;
+import com.example.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportService {
+    private static final int CHUNK_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter orderWriter;
+    private final Duration timeout;
+
+    @Autowired
+    public OrderExportService(OrderRepository orderRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                              OrderExportProperties properties) {
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.orderWriter = objectMapper.writerFor(Order.class);
+        this.timeout = properties.getTimeout();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        long exported = 0;
+        List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Order> orders = orderRepository.streamAllOrders()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += writeChunk(chunk, out);
+                    chunk.clear();
+                }
+            }
+        }
+        out.flush();
+        return exported;
+    }
+
+    private int writeChunk(List<Order> chunk, OutputStream out) throws IOException {
+        for (Order order : chunk) {
+            out.write(orderWriter.writeValueAsBytes(order));
+            out.write('\n');
+        }
+        for (Order order : chunk) {
+            entityManager.detach(order);
+        }
+        out.flush();
+        return chunk.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderIntakeProperties;
+import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderIntakeStatusDto;
+import com.example.order.exceptions.IntakeRequestNotFoundException;
+import com.example.order.exceptions.OrderIntakeFullException;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class OrderIntakeService implements DisposableBean {
+    private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, OrderIntakeStatusDto> statuses;
+    private final long retryAfterSeconds;
+    private final Duration shutdownTimeout;
+
+    @Autowired
+    public OrderIntakeService(OrderService orderService, OrderIntakeProperties properties, OrderMetrics orderMetrics) {
+        this.orderService = orderService;
+        this.orderMetrics = orderMetrics;
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        this.shutdownTimeout = properties.getShutdownTimeout();
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTrackedRequests())
+                .expireAfterWrite(properties.getStatusRetention())
+                .build();
+        ThreadFactory workers = properties.isVirtualThreads()
+                ? Thread.ofVirtual().name("order-intake-", 0).factory()
+                : Thread.ofPlatform().name("order-intake-", 0).daemon(true).factory();
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                queue, workers, new ThreadPoolExecutor.AbortPolicy());
+        orderMetrics.registerIntakeQueue(queue, properties.getQueueCapacity());
+    }
+
+    public OrderIntakeStatusDto submit(OrderDto orderDto) {
+        OrderRequestValidator.validate(orderDto);
+        String trackingId = UUID.randomUUID().toString();
+        OrderIntakeStatusDto queued = OrderIntakeStatusDto.queued(trackingId);
+        statuses.put(trackingId, queued);
+        try {
+            executor.execute(new IntakeTask(trackingId, orderDto));
+        } catch (RejectedExecutionException e) {
+            statuses.invalidate(trackingId);
+            orderMetrics.intakeRejected();
+            throw new OrderIntakeFullException("Order intake queue is full, please retry later", retryAfterSeconds);
+        }
+        return queued;
+    }
+
+    public OrderIntakeStatusDto getStatus(String trackingId) {
+        OrderIntakeStatusDto status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new IntakeRequestNotFoundException("Intake request not found with tracking id: " + trackingId);
+        }
+        return status;
+    }
+
+    private void process(String trackingId, OrderDto orderDto) {
+        statuses.put(trackingId, OrderIntakeStatusDto.processing(trackingId));
+        try {
+            Order order = orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(),
+                    orderDto.getDeliveryAddress(), orderDto.getOrderItems());
+            statuses.put(trackingId, OrderIntakeStatusDto.created(trackingId, order.getId()));
+        } catch (RuntimeException e) {
+            statuses.put(trackingId, OrderIntakeStatusDto.failed(trackingId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Queued orders are still created during {@code shutdownTimeout}. The queue and the tracking statuses live only
+     * in memory, so accepted orders left after that are lost; their tracking IDs are logged.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        List<String> dropped = executor.shutdownNow().stream().map(task -> ((IntakeTask) task).trackingId).toList();
+        if (!dropped.isEmpty()) {
+            log.warn("Order intake stopped with {} accepted orders not created, tracking ids: {}", dropped.size(), dropped);
+        }
+    }
+
+    private final class IntakeTask implements Runnable {
+        private final String trackingId;
+        private final OrderDto orderDto;
+
+        private IntakeTask(String trackingId, OrderDto orderDto) {
+            this.trackingId = trackingId;
+            this.orderDto = orderDto;
+        }
+
+        @Override
+        public void run() {
+            process(trackingId, orderDto);
+        }
+    }
+}
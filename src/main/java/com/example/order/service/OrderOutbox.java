@@ -0,0 +1,84 @@
+package com.example.order.service;
+
+import com.example.order.enums.OrderEventType;
+import com.example.order.enums.OrderStatus;
+import com.example.order.model.Order;
+import com.example.order.model.OrderOutboxEvent;
+import com.example.order.repository.OrderOutboxRepository;
+import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderStatusView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes order changes together with their outbox events, so an event exists exactly when its change committed.
+ */
+@Component
+public class OrderOutbox {
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderOutbox(OrderRepository orderRepository, OrderOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public Order saveNewOrder(Order order) {
+        Order saved = orderRepository.save(order);
+        outboxRepository.save(created(saved));
+        return saved;
+    }
+
+    @Transactional
+    public List<Order> saveNewOrders(List<Order> orders) {
+        List<Order> saved = orderRepository.saveAll(orders);
+        outboxRepository.saveAll(saved.stream().map(this::created).toList());
+        return saved;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Long orderId, Long restaurantId, OrderStatus from, OrderStatus to) {
+        outboxRepository.save(statusChanged(orderId, restaurantId, from, to));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<OrderStatusView> orders, OrderStatus from, OrderStatus to) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<OrderOutboxEvent> events = new ArrayList<>(orders.size());
+        for (OrderStatusView order : orders) {
+            events.add(statusChanged(order.getId(), order.getRestaurantId(), from, to));
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    private OrderOutboxEvent created(Order order) {
+        return new OrderOutboxEvent(OrderEventType.ORDER_CREATED, order.getId(), order.getRestaurantId(), null,
+                order.getStatus(), serialize(order));
+    }
+
+    private static OrderOutboxEvent statusChanged(Long orderId, Long restaurantId, OrderStatus from, OrderStatus to) {
+        return new OrderOutboxEvent(OrderEventType.ORDER_STATUS_CHANGED, orderId, restaurantId, from, to, null);
+    }
+
+    private String serialize(Order order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize order " + order.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderOutboxProperties;
+import com.example.order.dto.OrderEventDto;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.OrderOutboxEvent;
+import com.example.order.repository.OrderOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay implements SchedulingConfigurer {
+    static final int MAX_ERROR_LENGTH = 255;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+    private final Duration relayInterval;
+    private final Duration cleanupInterval;
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final Clock clock;
+
+    @Autowired
+    public OrderOutboxRelay(OrderOutboxProperties properties, OrderOutboxRepository outboxRepository, OrderEventPublisher publisher,
+                            PlatformTransactionManager transactionManager, OrderMetrics orderMetrics) {
+        this(properties, outboxRepository, publisher, transactionManager, orderMetrics, Clock.systemUTC());
+    }
+
+    OrderOutboxRelay(OrderOutboxProperties properties, OrderOutboxRepository outboxRepository, OrderEventPublisher publisher,
+                     PlatformTransactionManager transactionManager, OrderMetrics orderMetrics, Clock clock) {
+        this.batchSize = properties.getBatchSize();
+        this.maxBatchesPerRun = properties.getMaxBatchesPerRun();
+        this.maxAttempts = properties.getMaxAttempts();
+        this.retryBackoff = properties.getRetryBackoff();
+        this.maxRetryBackoff = properties.getMaxRetryBackoff();
+        this.retention = properties.getRetention();
+        this.relayInterval = properties.getRelayInterval();
+        this.cleanupInterval = properties.getCleanupInterval();
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderMetrics = orderMetrics;
+        this.clock = clock;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::relay, relayInterval);
+        registrar.addFixedDelayTask(this::purgePublished, cleanupInterval);
+    }
+
+    public int relay() {
+        int published = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            BatchResult result = relayBatch();
+            published += result.published();
+            if (result.published() == 0 || result.locked() < batchSize) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    public int purgePublished() {
+        int deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(clock.instant().minus(retention)));
+        if (deleted > 0) {
+            log.info("Deleted {} published order events older than {}", deleted, retention);
+        }
+        return deleted;
+    }
+
+    BatchResult relayBatch() {
+        return transactionTemplate.execute(status -> {
+            List<OrderOutboxEvent> events = outboxRepository.lockUnpublished(batchSize, maxAttempts, clock.instant());
+            if (events.isEmpty()) {
+                return new BatchResult(0, 0);
+            }
+            try {
+                publisher.publish(events.stream().map(OrderEventDto::from).toList());
+                markPublished(events.stream().map(OrderOutboxEvent::getId).toList());
+                return new BatchResult(events.size(), events.size());
+            } catch (RuntimeException batchFailure) {
+                if (events.size() == 1) {
+                    markFailed(events.get(0), batchFailure);
+                    return new BatchResult(1, 0);
+                }
+                log.warn("Publishing {} order events failed, retrying them one by one", events.size(), batchFailure);
+            }
+            List<Long> published = new ArrayList<>();
+            for (OrderOutboxEvent event : events) {
+                try {
+                    publisher.publish(List.of(OrderEventDto.from(event)));
+                    published.add(event.getId());
+                } catch (RuntimeException e) {
+                    markFailed(event, e);
+                }
+            }
+            markPublished(published);
+            return new BatchResult(events.size(), published.size());
+        });
+    }
+
+    private void markPublished(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        outboxRepository.markPublished(ids, clock.instant());
+        orderMetrics.outboxPublished(ids.size());
+    }
+
+    private void markFailed(OrderOutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() + 1;
+        outboxRepository.markFailed(event.getId(), truncate(String.valueOf(error.getMessage())), clock.instant().plus(backoff(attempts)));
+        orderMetrics.outboxFailed(1);
+        if (attempts >= maxAttempts) {
+            log.error("Order event {} failed {} times and will not be relayed again: {}", event.getId(), attempts, error.getMessage());
+            orderMetrics.outboxParked(1);
+        } else {
+            log.warn("Order event {} failed on attempt {}, it will be retried: {}", event.getId(), attempts, error.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record BatchResult(int locked, int published) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.order.service;
+
+import com.example.order.dto.OrderDto;
+import com.example.order.exceptions.*;
+import com.example.order.model.OrderItem;
+
+import java.util.List;
+
+final class OrderRequestValidator {
+
+    private OrderRequestValidator() {
+    }
+
+    static void validate(OrderDto orderDto) {
+        if (orderDto == null) {
+            throw new OrdersCannotBeNullOrEmptyException("Order cannot be null");
+        }
+        validate(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
+    }
+
+    static void validate(Long restaurantId, Long customerId, String deliveryAddress, List<OrderItem> orderItems) {
+        if (restaurantId == null || restaurantId <= 0) {
+            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        }
+        if (customerId == null || customerId <= 0) {
+            throw new CustomerIdCannotBeNullOrNegativeException("Customer ID cannot be null and must be greater than zero");
+        }
+        if (deliveryAddress == null || deliveryAddress.isBlank()) {
+            throw new DeliveryAddressCannotBeNullOrEmpty("Delivery address cannot be null or empty");
+        }
+        if (orderItems == null || orderItems.isEmpty()) {
+            throw new OrderItemsCannotBeNullOrEmptyException("Order items cannot be null or empty");
+        }
+        for (OrderItem item : orderItems) {
+            if (item == null || item.getMenuItemId() == null || item.getMenuItemId() <= 0) {
+                throw new MenuItemIdCannotBeNullOrNegativeException("Menu item ID cannot be null and must be greater than zero");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new QuantityCannotBeNullOrNegativeException("Quantity cannot be null and must be greater than zero");
+            }
+        }
+    }
+}
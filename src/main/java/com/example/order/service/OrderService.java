@@ -1,62 +1,222 @@
 package com.example.order.service;
 
+import com.example.order.dto.BatchOrderResultDto;
+import com.example.order.dto.BulkStatusUpdateResultDto;
+import com.example.order.dto.LiveOrderStatsDto;
 import com.example.order.dto.MenuItemDto;
+import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.dto.OrderLookupResultDto;
+import com.example.order.dto.OrderPageDto;
+import com.example.order.dto.OrderStatsDto;
 import com.example.order.enums.OrderStatus;
 import com.example.order.exceptions.*;
+import com.example.order.metrics.OrderMetrics;
 import com.example.order.model.Order;
 import com.example.order.model.OrderItem;
+import com.example.order.repository.OrderCreatedView;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderSpecifications;
+import com.example.order.repository.OrderStatusCountView;
+import com.example.order.repository.OrderStatusView;
+import com.example.order.repository.OrderTotalsView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
+    static final int MAX_STATUS_UPDATE_ATTEMPTS = 5;
+    static final int LOOKUP_CHUNK_SIZE = 200;
+    static final int MAX_LOOKUP_IDS = 1000;
+
     private final OrderRepository orderRepository;
     private final CatalogClientService catalogClientService;
+    private final OrderViewCache orderViewCache;
+    private final OrderMetrics orderMetrics;
+    private final LiveOrderStats liveOrderStats;
+    private final OrderWriteCoalescer orderWriteCoalescer;
+    private final OrderOutbox orderOutbox;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, CatalogClientService catalogClientService) {
+    public OrderService(OrderRepository orderRepository, CatalogClientService catalogClientService, OrderViewCache orderViewCache,
+                        OrderMetrics orderMetrics, LiveOrderStats liveOrderStats, OrderWriteCoalescer orderWriteCoalescer,
+                        OrderOutbox orderOutbox) {
         this.orderRepository = orderRepository;
         this.catalogClientService = catalogClientService;
+        this.orderViewCache = orderViewCache;
+        this.orderMetrics = orderMetrics;
+        this.liveOrderStats = liveOrderStats;
+        this.orderWriteCoalescer = orderWriteCoalescer;
+        this.orderOutbox = orderOutbox;
     }
 
     public Order createOrder(Long restaurantId, Long customerId, String deliveryAddress, List<OrderItem> orderItems) {
-        if (restaurantId == null || restaurantId <= 0) {
-            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        return orderMetrics.timeCreateOrder(() -> {
+            OrderRequestValidator.validate(restaurantId, customerId, deliveryAddress, orderItems);
+            Map<Long, MenuItemDto> menuItems = getMenuItemsByIdsAndRestaurantId(restaurantId, collectMenuItemIds(orderItems));
+            Order savedOrder = orderWriteCoalescer.isEnabled()
+                    ? orderWriteCoalescer.save(() -> buildOrder(restaurantId, customerId, deliveryAddress, orderItems, menuItems))
+                    : orderOutbox.saveNewOrder(buildOrder(restaurantId, customerId, deliveryAddress, orderItems, menuItems));
+            orderMetrics.orderCreated(restaurantId);
+            liveOrderStats.orderCreated(restaurantId);
+            return savedOrder;
+        });
+    }
+
+    public List<BatchOrderResultDto> createOrders(List<OrderDto> orderDtos) {
+        if (orderDtos == null || orderDtos.isEmpty()) {
+            throw new OrdersCannotBeNullOrEmptyException("Orders cannot be null or empty");
         }
-        if (orderItems == null || orderItems.isEmpty()) {
-            throw new OrderItemsCannotBeNullOrEmptyException("Order items cannot be null or empty");
+
+        RuntimeException[] failures = new RuntimeException[orderDtos.size()];
+        Map<Long, Set<Long>> menuItemIdsByRestaurant = new LinkedHashMap<>();
+        for (int i = 0; i < orderDtos.size(); i++) {
+            OrderDto orderDto = orderDtos.get(i);
+            try {
+                OrderRequestValidator.validate(orderDto);
+                menuItemIdsByRestaurant.computeIfAbsent(orderDto.getRestaurantId(), restaurantId -> new LinkedHashSet<>())
+                        .addAll(collectMenuItemIds(orderDto.getOrderItems()));
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
         }
 
-        List<OrderItem> mappedOrderItems = orderItems.stream()
-                .map(item -> {
-                    MenuItemDto menuItemDto = getMenuItemByIdAndRestaurantId(restaurantId, item.getMenuItemId(), catalogClientService);
-                    return new OrderItem(item.getMenuItemId(), menuItemDto.getName(), menuItemDto.getPrice(), item.getQuantity());
-                })
-                .collect(Collectors.toList());
+        Map<Long, Map<Long, MenuItemDto>> menuItemsByRestaurant = new HashMap<>();
+        Map<Long, RuntimeException> lookupFailures = new HashMap<>();
+        menuItemIdsByRestaurant.forEach((restaurantId, menuItemIds) -> {
+            try {
+                menuItemsByRestaurant.put(restaurantId, getMenuItemsByIdsAndRestaurantId(restaurantId, new ArrayList<>(menuItemIds)));
+            } catch (RuntimeException e) {
+                lookupFailures.put(restaurantId, e);
+            }
+        });
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderIndexes = new ArrayList<>();
+        for (int i = 0; i < orderDtos.size(); i++) {
+            if (failures[i] != null) {
+                continue;
+            }
+            OrderDto orderDto = orderDtos.get(i);
+            if (lookupFailures.containsKey(orderDto.getRestaurantId())) {
+                failures[i] = lookupFailures.get(orderDto.getRestaurantId());
+                continue;
+            }
+            try {
+                orders.add(buildOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(),
+                        orderDto.getOrderItems(), menuItemsByRestaurant.get(orderDto.getRestaurantId())));
+                orderIndexes.add(i);
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+        }
 
-        Order order = new Order(restaurantId, customerId, deliveryAddress, mappedOrderItems);
-        return orderRepository.save(order);
+        List<Order> savedOrders = orders.isEmpty() ? orders : orderOutbox.saveNewOrders(orders);
+        BatchOrderResultDto[] results = new BatchOrderResultDto[orderDtos.size()];
+        for (int i = 0; i < savedOrders.size(); i++) {
+            results[orderIndexes.get(i)] = BatchOrderResultDto.created(orderIndexes.get(i), savedOrders.get(i));
+            orderMetrics.orderCreated(savedOrders.get(i).getRestaurantId());
+            liveOrderStats.orderCreated(savedOrders.get(i).getRestaurantId());
+        }
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                results[i] = BatchOrderResultDto.failed(i, failures[i].getMessage());
+            }
+        }
+        return Arrays.asList(results);
     }
 
-    private MenuItemDto getMenuItemByIdAndRestaurantId(Long restaurantId, Long menuItemId, CatalogClientService catalogClientService) {
-        if (menuItemId == null || menuItemId <= 0) {
-            throw new MenuItemIdCannotBeNullOrNegativeException("Menu item ID cannot be null and must be greater than zero");
+    private List<Long> collectMenuItemIds(List<OrderItem> orderItems) {
+        List<Long> menuItemIds = new ArrayList<>(orderItems.size());
+        for (OrderItem item : orderItems) {
+            menuItemIds.add(item.getMenuItemId());
         }
-        MenuItemDto menuItem;
+        return menuItemIds;
+    }
+
+    private Map<Long, MenuItemDto> getMenuItemsByIdsAndRestaurantId(Long restaurantId, List<Long> menuItemIds) {
         try {
-            menuItem = catalogClientService.getMenuItemByIdAndRestaurantId(restaurantId, menuItemId);
+            return catalogClientService.getMenuItemsByIdsAndRestaurantId(restaurantId, menuItemIds);
+        } catch (CatalogUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            throw new MenuItemNotFoundException("Menu item with restaurant id: "+ restaurantId + " and menu item id: " + menuItemId + " is not found");
+            throw new MenuItemNotFoundException("Menu items with restaurant id: " + restaurantId + " could not be retrieved");
+        }
+    }
+
+    private Order buildOrder(Long restaurantId, Long customerId, String deliveryAddress, List<OrderItem> orderItems, Map<Long, MenuItemDto> menuItems) {
+        List<OrderItem> mappedOrderItems = new ArrayList<>(orderItems.size());
+        for (OrderItem item : orderItems) {
+            MenuItemDto menuItemDto = menuItems.get(item.getMenuItemId());
+            if (menuItemDto == null) {
+                throw new MenuItemNotFoundException("Menu item with restaurant id: " + restaurantId + " and menu item id: " + item.getMenuItemId() + " is not found");
+            }
+            mappedOrderItems.add(new OrderItem(item.getMenuItemId(), menuItemDto.getName(), menuItemDto.getPrice(), item.getQuantity()));
+        }
+        return new Order(restaurantId, customerId, deliveryAddress, mappedOrderItems);
+    }
+
+    public OrderPageDto getOrders(String cursor, Integer limit) {
+        return getOrders(OrderFilterDto.none(), cursor, limit);
+    }
+
+    public OrderPageDto getOrders(OrderFilterDto filter, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new PageSizeOutOfRangeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validateFilter(filter);
+
+        Long afterId = decodeCursor(cursor);
+        List<Order> orders = filter.isEmpty()
+                ? orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                : orderRepository.findBy(OrderSpecifications.matching(filter, afterId),
+                        query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+        if (orders.size() <= pageSize) {
+            return new OrderPageDto(orders, null);
         }
-        return menuItem;
+        List<Order> page = orders.subList(0, pageSize);
+        return new OrderPageDto(page, encodeCursor(page.get(pageSize - 1).getId()));
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    private static void validateFilter(OrderFilterDto filter) {
+        if (filter.getRestaurantId() != null && filter.getRestaurantId() <= 0) {
+            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        }
+        if (filter.getCustomerId() != null && filter.getCustomerId() <= 0) {
+            throw new CustomerIdCannotBeNullOrNegativeException("Customer ID cannot be null and must be greater than zero");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new InvalidOrderFilterRangeException("'from' must be before 'to'");
+        }
+    }
+
+    private static String encodeCursor(Long lastOrderId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastOrderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOrderCursorException("Invalid cursor: " + cursor);
+        }
     }
 
     public Order getOrderById(Long orderId) {
@@ -64,14 +224,164 @@ public class OrderService {
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
     }
 
-    public Order updateOrderStatus(Long orderId) {
-        Order order = getOrderById(orderId);
+    public OrderLookupResultDto getOrdersByIds(List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new OrdersCannotBeNullOrEmptyException("Order IDs cannot be null or empty");
+        }
+        List<Long> requestedIds = orderIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (requestedIds.size() > MAX_LOOKUP_IDS) {
+            throw new TooManyOrderIdsException("At most " + MAX_LOOKUP_IDS + " order IDs can be requested at once");
+        }
+
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, requestedIds.size()));
+            for (Order order : orderRepository.findByIdIn(chunk)) {
+                ordersById.put(order.getId(), order);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(ordersById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long orderId : requestedIds) {
+            Order order = ordersById.get(orderId);
+            if (order == null) {
+                missingIds.add(orderId);
+            } else {
+                orders.add(order);
+            }
+        }
+        return new OrderLookupResultDto(orders, missingIds);
+    }
+
+    public byte[] getOrderViewById(Long orderId) {
+        return orderViewCache.get(orderId, this::getOrderById);
+    }
+
+    /**
+     * REPEATABLE_READ so the three aggregates see one snapshot and the breakdown adds up to the count.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public OrderStatsDto getOrderStats(Long restaurantId, Instant from, Instant to) {
+        if (restaurantId == null || restaurantId <= 0) {
+            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        }
+        Instant windowStart = from == null ? Instant.EPOCH : from;
+        Instant windowEnd = to == null ? Instant.now() : to;
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new InvalidStatsRangeException("'from' must be before 'to'");
+        }
+
+        OrderTotalsView totals = orderRepository.sumTotals(restaurantId, windowStart, windowEnd);
+        long orderCount = totals.getOrderCount();
+        Map<OrderStatus, Long> statusBreakdown = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            statusBreakdown.put(status, 0L);
+        }
+        double averageBasketSize = 0;
+        if (orderCount > 0) {
+            averageBasketSize = (double) orderRepository.sumItemQuantities(restaurantId, windowStart, windowEnd) / orderCount;
+            for (OrderStatusCountView count : orderRepository.countByStatus(restaurantId, windowStart, windowEnd)) {
+                statusBreakdown.put(count.getStatus(), count.getOrderCount());
+            }
+        }
+        return new OrderStatsDto(restaurantId, windowStart, windowEnd, orderCount, totals.getTotalRevenue(), averageBasketSize, statusBreakdown);
+    }
+
+    public List<LiveOrderStatsDto> getLiveOrderStats(Long restaurantId, Integer minutes) {
+        int window = minutes == null ? liveOrderStats.getWindowMinutes() : minutes;
+        if (window < 1 || window > liveOrderStats.getWindowMinutes()) {
+            throw new InvalidStatsRangeException("Minutes must be between 1 and " + liveOrderStats.getWindowMinutes());
+        }
+        if (restaurantId == null) {
+            return liveOrderStats.snapshotAll(window);
+        }
+        if (restaurantId <= 0) {
+            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        }
+        return List.of(liveOrderStats.snapshot(restaurantId, window));
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuildLiveOrderStats() {
+        Instant since = Instant.now().minus(Duration.ofMinutes(liveOrderStats.getWindowMinutes()));
+        try (Stream<OrderCreatedView> created = orderRepository.streamCreatedSince(since)) {
+            liveOrderStats.rebuild(orderRepository.countByRestaurantAndStatus(), created);
+        }
+    }
 
-        if (order.getStatus() != OrderStatus.CREATED) {
+    @Transactional
+    public void updateOrderStatus(Long orderId) {
+        Long restaurantId = orderRepository.updateStatusIfCurrent(orderId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)
+                .orElse(null);
+        if (restaurantId == null) {
+            if (!orderRepository.existsById(orderId)) {
+                throw new OrderNotFoundException("Order not found with id: " + orderId);
+            }
             throw new CannotUpdateOrderStatusException("Order status can only be updated from CREATED to OUT FOR DELIVERY");
         }
+        orderViewCache.invalidateAfterCommit(orderId);
+        orderMetrics.statusTransition(OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY, 1);
+        orderOutbox.recordStatusChange(orderId, restaurantId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        liveOrderStats.statusChanged(restaurantId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+    }
+
+    @Transactional
+    public void transitionOrderStatus(Long orderId, OrderStatus targetStatus) {
+        for (int attempt = 0; attempt < MAX_STATUS_UPDATE_ATTEMPTS; attempt++) {
+            OrderStatusView current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+            if (!current.getStatus().canTransitionTo(targetStatus)) {
+                throw new CannotUpdateOrderStatusException("Order status cannot be updated from " + current.getStatus() + " to " + targetStatus);
+            }
+            if (orderRepository.compareAndSetStatus(orderId, current.getVersion(), targetStatus) == 1) {
+                orderViewCache.invalidateAfterCommit(orderId);
+                orderMetrics.statusTransition(current.getStatus(), targetStatus, 1);
+                orderOutbox.recordStatusChange(orderId, current.getRestaurantId(), current.getStatus(), targetStatus);
+                liveOrderStats.statusChanged(current.getRestaurantId(), current.getStatus(), targetStatus);
+                return;
+            }
+        }
+        throw new OrderStatusConflictException("Order with id: " + orderId + " was updated concurrently, please retry");
+    }
 
-        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
-        return orderRepository.save(order);
+    @Transactional
+    public BulkStatusUpdateResultDto dispatchOrders(List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new OrdersCannotBeNullOrEmptyException("Order IDs cannot be null or empty");
+        }
+
+        List<Long> sortedIds = orderIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<Long> updated = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        List<Long> invalidState = new ArrayList<>();
+        for (int from = 0; from < sortedIds.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + STATUS_UPDATE_CHUNK_SIZE, sortedIds.size()));
+            int[] counts = orderRepository.updateEachStatusIfCurrent(chunk, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+            Map<Long, OrderStatusView> views = new HashMap<>();
+            for (OrderStatusView view : orderRepository.findStatusesByIds(chunk)) {
+                views.put(view.getId(), view);
+            }
+
+            List<OrderStatusView> dispatched = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Long orderId = chunk.get(i);
+                if (counts[i] > 0) {
+                    dispatched.add(views.get(orderId));
+                    updated.add(orderId);
+                } else if (views.containsKey(orderId)) {
+                    invalidState.add(orderId);
+                } else {
+                    notFound.add(orderId);
+                }
+            }
+            orderOutbox.recordStatusChanges(dispatched, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+            for (OrderStatusView view : dispatched) {
+                liveOrderStats.statusChanged(view.getRestaurantId(), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+            }
+        }
+        orderViewCache.invalidateAfterCommit(updated);
+        orderMetrics.statusTransition(OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY, updated.size());
+        return new BulkStatusUpdateResultDto(updated, notFound, invalidState);
     }
 }
@@ -0,0 +1,85 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderViewCacheProperties;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+/**
+ * Writers invalidate after their transaction completes; a racing load is still in flight then, so the invalidation
+ * either waits for it (synchronous cache) or discards its pending result (asynchronous cache).
+ */
+@Component
+public class OrderViewCache {
+    private final Cache<Long, byte[]> cache;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderViewCache(OrderViewCacheProperties properties, ObjectMapper objectMapper, OrderMetrics orderMetrics) {
+        this.objectMapper = objectMapper;
+        this.cache = properties.isEnabled() ? buildCache(properties) : null;
+        if (cache != null) {
+            orderMetrics.monitorCache(cache, "order.view");
+        }
+    }
+
+    public byte[] get(Long orderId, Function<Long, Order> loader) {
+        if (cache == null) {
+            return serialize(loader.apply(orderId));
+        }
+        return cache.get(orderId, id -> serialize(loader.apply(id)));
+    }
+
+    public void invalidateAfterCommit(Long orderId) {
+        invalidateAfterCommit(List.of(orderId));
+    }
+
+    public void invalidateAfterCommit(Collection<Long> orderIds) {
+        if (cache == null || orderIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(orderIds);
+            return;
+        }
+        List<Long> ids = List.copyOf(orderIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidateAll(ids);
+            }
+        });
+    }
+
+    private static Cache<Long, byte[]> buildCache(OrderViewCacheProperties properties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats();
+        if (properties.isVirtualThreads()) {
+            ThreadFactory loadThreads = Thread.ofVirtual().name("order-view-load-", 0).factory();
+            return builder.executor(task -> loadThreads.newThread(task).start()).<Long, byte[]>buildAsync().synchronous();
+        }
+        return builder.build();
+    }
+
+    private byte[] serialize(Order order) {
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize order " + order.getId(), e);
+        }
+    }
+}
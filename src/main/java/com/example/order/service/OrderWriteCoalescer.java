@@ -0,0 +1,175 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderWriteCoalescerProperties;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+@Component
+public class OrderWriteCoalescer implements DisposableBean {
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final Duration commitTimeout;
+    private final OrderOutbox orderOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public OrderWriteCoalescer(OrderWriteCoalescerProperties properties, OrderOutbox orderOutbox,
+                               PlatformTransactionManager transactionManager, OrderMetrics orderMetrics) {
+        this.enabled = properties.isEnabled();
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.maxWait = properties.getMaxWait();
+        this.commitTimeout = properties.getCommitTimeout();
+        this.orderOutbox = orderOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderMetrics = orderMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.running = enabled;
+        this.writer = enabled ? Thread.ofPlatform().name("order-write-coalescer").daemon(true).start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The factory is called again if the order has to be retried on its own, so it must be free of side effects.
+     */
+    public Order save(Supplier<Order> orderFactory) {
+        PendingWrite write = new PendingWrite(orderFactory, orderFactory.get(), new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(write)) {
+            return orderOutbox.saveNewOrder(write.order());
+        }
+        if (!running && queue.remove(write)) {
+            return orderOutbox.saveNewOrder(write.order());
+        }
+        try {
+            return awaitResult(write);
+        } catch (CancellationException e) {
+            return orderOutbox.saveNewOrder(write.order());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Order write failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the order to be saved", e);
+        }
+    }
+
+    private Order awaitResult(PendingWrite write) throws ExecutionException, InterruptedException {
+        try {
+            return write.result().get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(write)) {
+                return orderOutbox.saveNewOrder(write.order());
+            }
+            return write.result().get();
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                batch.add(queue.take());
+                collect(batch);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            queue.drainTo(batch);
+            CancellationException stopped = new CancellationException("Order write coalescer stopped");
+            batch.forEach(write -> write.result().completeExceptionally(stopped));
+        }
+    }
+
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        List<Order> saved;
+        try {
+            List<Order> orders = batch.stream().map(PendingWrite::order).toList();
+            saved = transactionTemplate.execute(status -> orderOutbox.saveNewOrders(orders));
+        } catch (RuntimeException batchFailure) {
+            orderMetrics.writeBatch(batch.size(), System.nanoTime() - start);
+            if (batch.size() == 1) {
+                fail(batch.get(0), batchFailure);
+            } else {
+                batch.forEach(this::saveAlone);
+            }
+            return;
+        }
+        orderMetrics.writeBatch(batch.size(), System.nanoTime() - start);
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), saved.get(i));
+        }
+    }
+
+    private void saveAlone(PendingWrite write) {
+        try {
+            Order order = write.orderFactory().get();
+            complete(write, transactionTemplate.execute(status -> orderOutbox.saveNewOrder(order)));
+        } catch (RuntimeException e) {
+            fail(write, e);
+        }
+    }
+
+    private void complete(PendingWrite write, Order saved) {
+        orderMetrics.writeCompleted(System.nanoTime() - write.enqueuedAt());
+        write.result().complete(saved);
+    }
+
+    private void fail(PendingWrite write, RuntimeException error) {
+        orderMetrics.writeCompleted(System.nanoTime() - write.enqueuedAt());
+        write.result().completeExceptionally(error);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private record PendingWrite(Supplier<Order> orderFactory, Order order, CompletableFuture<Order> result, long enqueuedAt) {
+    }
+}
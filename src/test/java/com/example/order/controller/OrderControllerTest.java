@@ -1,9 +1,20 @@
 package com.example.order.controller;
 
+import com.example.order.dto.BatchOrderResultDto;
+import com.example.order.dto.BulkStatusUpdateResultDto;
+import com.example.order.dto.LiveOrderStatsDto;
 import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.dto.OrderIntakeStatusDto;
+import com.example.order.dto.OrderLookupResultDto;
+import com.example.order.dto.OrderPageDto;
+import com.example.order.dto.OrderStatsDto;
+import com.example.order.enums.OrderStatus;
 import com.example.order.exceptions.*;
 import com.example.order.model.Order;
 import com.example.order.model.OrderItem;
+import com.example.order.service.OrderExportService;
+import com.example.order.service.OrderIntakeService;
 import com.example.order.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +28,18 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class OrderControllerTest {
@@ -32,6 +50,12 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderExportService orderExportService;
+
+    @Mock
+    private OrderIntakeService orderIntakeService;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -64,6 +88,78 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(any(), any(), any(), any());
     }
 
+    @Test
+    void testSubmitOrderForAsyncIntake() throws Exception {
+        OrderDto orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+        when(orderIntakeService.submit(any())).thenReturn(OrderIntakeStatusDto.queued("abc"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/orders/intake/abc"))
+                .andExpect(content().json("{\"trackingId\":\"abc\",\"state\":\"QUEUED\"}"));
+
+        verify(orderService, never()).createOrder(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSubmitOrderWhenIntakeQueueIsFull() throws Exception {
+        OrderDto orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+        when(orderIntakeService.submit(any())).thenThrow(new OrderIntakeFullException("Order intake queue is full, please retry later", 2));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderDto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(content().string("Too Many Requests: Order intake queue is full, please retry later"));
+    }
+
+    @Test
+    void testGetIntakeStatus() throws Exception {
+        when(orderIntakeService.getStatus("abc")).thenReturn(OrderIntakeStatusDto.created("abc", 42L));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/intake/abc"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"trackingId\":\"abc\",\"state\":\"CREATED\",\"orderId\":42}"));
+    }
+
+    @Test
+    void testGetIntakeStatusWhenUnknown() throws Exception {
+        when(orderIntakeService.getStatus("nope")).thenThrow(new IntakeRequestNotFoundException("Intake request not found with tracking id: nope"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/intake/nope"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Not Found: Intake request not found with tracking id: nope"));
+    }
+
+    @Test
+    void testCreateOrderWhenCatalogUnavailable() throws Exception {
+        OrderDto orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+        when(orderService.createOrder(any(), any(), any(), any()))
+                .thenThrow(new CatalogUnavailableException("Catalog service is unavailable, please retry later"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Service Unavailable: Catalog service is unavailable, please retry later"));
+    }
+
+    @Test
+    void testCreateOrderWhenCatalogMissesLookupDeadline() throws Exception {
+        OrderDto orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+        when(orderService.createOrder(any(), any(), any(), any()))
+                .thenThrow(new CatalogUnavailableException("Catalog service did not return the menu items of restaurant id: 1 in time, please retry later"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Service Unavailable: Catalog service did not return the menu items of restaurant id: 1 in time, please retry later"));
+    }
+
     @Test
     void testCreateOrderWithNullRestaurantId() throws Exception {
         OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
@@ -354,6 +450,29 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(any(), any(), any(), any());
     }
 
+    @Test
+    void testCreateOrdersInBatch() throws Exception {
+        OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
+        List<OrderDto> orderDtos = List.of(
+                new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(item1)),
+                new OrderDto(1L, null, "Nizampet, Hyderabad", List.of(item1)));
+        String jsonRequestBody = objectMapper.writeValueAsString(orderDtos);
+        List<BatchOrderResultDto> results = List.of(
+                new BatchOrderResultDto(0, true, 7L, 398.0, null),
+                BatchOrderResultDto.failed(1, "Customer ID cannot be null and must be greater than zero"));
+
+        when(orderService.createOrders(any())).thenReturn(results);
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(results), mvcResult.getResponse().getContentAsString());
+        verify(orderService, times(1)).createOrders(any());
+    }
+
     @Test
     void testGetAllOrders() throws Exception {
         OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
@@ -361,10 +480,10 @@ class OrderControllerTest {
 
         Order order1 = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
         Order order2 = new Order(2L, 1L, "Nizampet, Hyderabad", orderItems);
-        List<Order> expectedOrders = Arrays.asList(order1, order2);
-        String expectedResponseBody = objectMapper.writeValueAsString(expectedOrders);
+        OrderPageDto expectedPage = new OrderPageDto(Arrays.asList(order1, order2), "Mg");
+        String expectedResponseBody = objectMapper.writeValueAsString(expectedPage);
 
-        when(orderService.getAllOrders()).thenReturn(expectedOrders);
+        when(orderService.getOrders(any(OrderFilterDto.class), isNull(), isNull())).thenReturn(expectedPage);
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/orders")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -373,21 +492,130 @@ class OrderControllerTest {
 
         String responseBody = mvcResult.getResponse().getContentAsString();
         assertEquals(expectedResponseBody, responseBody);
-        verify(orderService, times(1)).getAllOrders();
+        verify(orderService, times(1)).getOrders(argThat(OrderFilterDto::isEmpty), isNull(), isNull());
     }
 
     @Test
     void testGetOrdersWhenNoAllOrders() throws Exception {
-        when(orderService.getAllOrders()).thenReturn(Collections.emptyList());
+        when(orderService.getOrders(any(OrderFilterDto.class), eq("Mg"), eq(10))).thenReturn(new OrderPageDto(Collections.emptyList(), null));
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("cursor", "Mg")
+                        .param("limit", "10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andReturn();
 
         String responseBody = mvcResult.getResponse().getContentAsString();
-        assertEquals("[]", responseBody);
-        verify(orderService, times(1)).getAllOrders();
+        assertEquals("{\"orders\":[],\"nextCursor\":null}", responseBody);
+        verify(orderService, times(1)).getOrders(any(OrderFilterDto.class), eq("Mg"), eq(10));
+    }
+
+    @Test
+    void testGetOrdersPassesFiltersToService() throws Exception {
+        when(orderService.getOrders(any(OrderFilterDto.class), isNull(), isNull())).thenReturn(new OrderPageDto(Collections.emptyList(), null));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("restaurantId", "7")
+                        .param("status", "CREATED")
+                        .param("from", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isOk());
+
+        verify(orderService, times(1)).getOrders(argThat(filter -> filter.getRestaurantId() == 7L
+                && filter.getCustomerId() == null
+                && filter.getStatus() == OrderStatus.CREATED
+                && Instant.parse("2024-01-01T00:00:00Z").equals(filter.getFrom())
+                && filter.getTo() == null), isNull(), isNull());
+    }
+
+    @Test
+    void testGetOrdersWithUnknownStatus() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("status", "LOST"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: Invalid value 'LOST' for status"));
+
+        verify(orderService, never()).getOrders(any(), any(), any());
+    }
+
+    @Test
+    void testGetOrdersByIds() throws Exception {
+        Order order = new Order(1L, 1L, "Nizampet, Hyderabad", Collections.singletonList(new OrderItem(1L, "Pizza", 199.0, 2)));
+        OrderLookupResultDto result = new OrderLookupResultDto(List.of(order), List.of(2L));
+        when(orderService.getOrdersByIds(List.of(3L, 2L))).thenReturn(result);
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("ids", "3,2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(result), mvcResult.getResponse().getContentAsString());
+        verify(orderService, never()).getOrders(any(), any(), any());
+    }
+
+    @Test
+    void testLookupOrdersWithPostBody() throws Exception {
+        when(orderService.getOrdersByIds(List.of(5L, 6L))).thenReturn(new OrderLookupResultDto(List.of(), List.of(5L, 6L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[5, 6]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"orders\":[],\"missingIds\":[5,6]}"));
+    }
+
+    @Test
+    void testLookupOrdersWithTooManyIds() throws Exception {
+        when(orderService.getOrdersByIds(any())).thenThrow(new TooManyOrderIdsException("At most 1000 order IDs can be requested at once"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/orders/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: At most 1000 order IDs can be requested at once"));
+    }
+
+    @Test
+    void testGetOrdersWithPageSizeOutOfRange() throws Exception {
+        when(orderService.getOrders(any(OrderFilterDto.class), isNull(), eq(500))).thenThrow(new PageSizeOutOfRangeException("Page size must be between 1 and 100"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("limit", "500")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: Page size must be between 1 and 100"));
+    }
+
+    @Test
+    void testGetOrdersWithInvertedCreatedAtFilter() throws Exception {
+        when(orderService.getOrders(any(OrderFilterDto.class), isNull(), isNull()))
+                .thenThrow(new InvalidOrderFilterRangeException("'from' must be before 'to'"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders")
+                        .param("from", "2024-02-01T00:00:00Z")
+                        .param("to", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: 'from' must be before 'to'"));
+    }
+
+    @Test
+    void testExportOrdersStreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(orderExportService).exportOrders(any());
+        when(orderExportService.getTimeout()).thenReturn(Duration.ofMinutes(30));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+        verify(orderService, never()).getOrders(any(), any(), any());
     }
 
     @Test
@@ -397,7 +625,7 @@ class OrderControllerTest {
         Order expectedOrder = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
         String expectedResponseBody = objectMapper.writeValueAsString(expectedOrder);
 
-        when(orderService.getOrderById(1L)).thenReturn(expectedOrder);
+        when(orderService.getOrderViewById(1L)).thenReturn(objectMapper.writeValueAsBytes(expectedOrder));
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/orders/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -406,29 +634,26 @@ class OrderControllerTest {
 
         String responseBody = mvcResult.getResponse().getContentAsString();
         assertEquals(expectedResponseBody, responseBody);
-        verify(orderService, times(1)).getOrderById(1L);
+        verify(orderService, times(1)).getOrderViewById(1L);
     }
 
     @Test
     void testGetOrderByIdWhenOrderNotFound() throws Exception {
-        when(orderService.getOrderById(99L)).thenThrow(new OrderNotFoundException("Order not found with id: 99"));
+        when(orderService.getOrderViewById(99L)).thenThrow(new OrderNotFoundException("Order not found with id: 99"));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/orders/99")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Not Found: Order not found with id: 99"));
 
-        verify(orderService, times(1)).getOrderById(99L);
+        verify(orderService, times(1)).getOrderViewById(99L);
     }
 
     @Test
     void testUpdateOrderStatusSuccessfully() throws Exception {
         Long orderId = 1L;
-        OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
-        List<OrderItem> orderItems = Collections.singletonList(item1);
-        Order order = new Order(orderId, 1L, "Nizampet, Hyderabad", orderItems);
 
-        when(orderService.updateOrderStatus(orderId)).thenReturn(order);
+        doNothing().when(orderService).updateOrderStatus(orderId);
 
         mockMvc.perform(MockMvcRequestBuilders.put("/orders/" + orderId + "/status")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -438,6 +663,50 @@ class OrderControllerTest {
         verify(orderService, times(1)).updateOrderStatus(orderId);
     }
 
+    @Test
+    void testTransitionOrderStatusSuccessfully() throws Exception {
+        doNothing().when(orderService).transitionOrderStatus(1L, OrderStatus.CONFIRMED);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/orders/1/status/CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Order status updated to CONFIRMED for order ID: 1"));
+
+        verify(orderService, times(1)).transitionOrderStatus(1L, OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void testTransitionOrderStatusWhenConcurrentlyUpdated() throws Exception {
+        doThrow(new OrderStatusConflictException("Order with id: 1 was updated concurrently, please retry"))
+                .when(orderService).transitionOrderStatus(1L, OrderStatus.DELIVERED);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/orders/1/status/DELIVERED"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Conflict: Order with id: 1 was updated concurrently, please retry"));
+    }
+
+    @Test
+    void testTransitionOrderStatusWithUnknownTarget() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/orders/1/status/SHIPPED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: Invalid value 'SHIPPED' for targetStatus"));
+
+        verify(orderService, never()).transitionOrderStatus(any(), any());
+    }
+
+    @Test
+    void testDispatchOrdersSuccessfully() throws Exception {
+        BulkStatusUpdateResultDto result = new BulkStatusUpdateResultDto(List.of(1L), List.of(99L), List.of(2L));
+        when(orderService.dispatchOrders(List.of(1L, 2L, 99L))).thenReturn(result);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"updated\":[1],\"notFound\":[99],\"invalidState\":[2]}"));
+
+        verify(orderService, times(1)).dispatchOrders(List.of(1L, 2L, 99L));
+    }
+
     @Test
     void testUpdateOrderStatusWhenOrderNotFound() throws Exception {
         Long orderId = 99L;
@@ -467,4 +736,53 @@ class OrderControllerTest {
 
         verify(orderService, times(1)).updateOrderStatus(orderId);
     }
+
+    @Test
+    void testGetOrderStats() throws Exception {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        Map<OrderStatus, Long> breakdown = new EnumMap<>(OrderStatus.class);
+        breakdown.put(OrderStatus.CREATED, 2L);
+        breakdown.put(OrderStatus.DELIVERED, 1L);
+        when(orderService.getOrderStats(1L, from, to))
+                .thenReturn(new OrderStatsDto(1L, from, to, 3, 897.0, 2.5, breakdown));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/stats")
+                        .param("restaurantId", "1")
+                        .param("from", "2024-01-01T00:00:00Z")
+                        .param("to", "2024-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"restaurantId\":1,\"orderCount\":3,\"totalRevenue\":897.0,\"averageBasketSize\":2.5," +
+                        "\"statusBreakdown\":{\"CREATED\":2,\"DELIVERED\":1}}"));
+
+        verify(orderService, times(1)).getOrderStats(1L, from, to);
+    }
+
+    @Test
+    void testGetOrderStatsWithInvalidRange() throws Exception {
+        when(orderService.getOrderStats(eq(1L), any(), any()))
+                .thenThrow(new InvalidStatsRangeException("'from' must be before 'to'"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/stats")
+                        .param("restaurantId", "1")
+                        .param("from", "2024-02-01T00:00:00Z")
+                        .param("to", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Bad Request: 'from' must be before 'to'"));
+    }
+
+    @Test
+    void testGetLiveOrderStats() throws Exception {
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        statusCounts.put(OrderStatus.CREATED, 4L);
+        when(orderService.getLiveOrderStats(1L, 15)).thenReturn(List.of(new LiveOrderStatsDto(1L, 15, 7, statusCounts)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/live-stats")
+                        .param("restaurantId", "1")
+                        .param("minutes", "15"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"restaurantId\":1,\"minutes\":15,\"ordersCreated\":7,\"statusCounts\":{\"CREATED\":4}}]"));
+
+        verify(orderService, times(1)).getLiveOrderStats(1L, 15);
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.order.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTest {
+
+    @Test
+    void testAllowedTransitions() {
+        assertTrue(OrderStatus.CREATED.canTransitionTo(OrderStatus.OUT_FOR_DELIVERY));
+        assertTrue(OrderStatus.CREATED.canTransitionTo(OrderStatus.PENDING));
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.OUT_FOR_DELIVERY));
+        assertTrue(OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(OrderStatus.DELIVERED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void testRejectedTransitions() {
+        assertFalse(OrderStatus.CREATED.canTransitionTo(OrderStatus.CREATED));
+        assertFalse(OrderStatus.CREATED.canTransitionTo(OrderStatus.DELIVERED));
+        assertFalse(OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.OUT_FOR_DELIVERY));
+    }
+
+    @Test
+    void testTerminalStatusesHaveNoTransitions() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertFalse(OrderStatus.DELIVERED.canTransitionTo(target));
+            assertFalse(OrderStatus.CANCELLED.canTransitionTo(target));
+        }
+    }
+}
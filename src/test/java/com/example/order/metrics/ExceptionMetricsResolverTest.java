@@ -0,0 +1,27 @@
+package com.example.order.metrics;
+
+import com.example.order.exceptions.OrderNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExceptionMetricsResolverTest {
+
+    @Test
+    void testCountsExceptionsWithoutResolvingThem() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExceptionMetricsResolver resolver = new ExceptionMetricsResolver(new OrderMetrics(registry));
+
+        Object resolved = resolver.resolveException(new MockHttpServletRequest(), new MockHttpServletResponse(), null,
+                new OrderNotFoundException("Order not found with id: 99"));
+        resolver.resolveException(new MockHttpServletRequest(), new MockHttpServletResponse(), null,
+                new OrderNotFoundException("Order not found with id: 98"));
+
+        assertNull(resolved);
+        assertEquals(2, registry.get("order.exceptions").tag("exception", "OrderNotFoundException").counter().count());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.order.metrics;
+
+import com.example.order.enums.OrderStatus;
+import com.example.order.exceptions.CatalogUnavailableException;
+import com.example.order.exceptions.RestaurantIdCannotBeNullOrNegativeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderMetrics orderMetrics = new OrderMetrics(registry);
+
+    @Test
+    void testCatalogRequestsAreTaggedByEndpointAndOutcome() {
+        orderMetrics.timeCatalogRequest("item", () -> "ok");
+        assertThrows(HttpClientErrorException.class, () -> orderMetrics.timeCatalogRequest("item", () -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        }));
+        assertThrows(HttpServerErrorException.class, () -> orderMetrics.timeCatalogRequest("bulk", () -> {
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+        }));
+        assertThrows(CatalogUnavailableException.class, () -> orderMetrics.timeCatalogRequest("bulk", () -> {
+            throw new CatalogUnavailableException("Catalog service is unavailable, please retry later");
+        }));
+
+        assertEquals(1, catalogRequests("item", "success"));
+        assertEquals(1, catalogRequests("item", "not_found"));
+        assertEquals(1, catalogRequests("bulk", "server_error"));
+        assertEquals(1, catalogRequests("bulk", "rejected"));
+    }
+
+    @Test
+    void testCreateOrderTimerRecordsFailuresByException() {
+        orderMetrics.timeCreateOrder(() -> "order");
+        assertThrows(RestaurantIdCannotBeNullOrNegativeException.class, () -> orderMetrics.timeCreateOrder(() -> {
+            throw new RestaurantIdCannotBeNullOrNegativeException("Restaurant ID cannot be null and must be greater than zero");
+        }));
+
+        assertEquals(1, registry.get("order.create").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("order.create").tag("exception", "RestaurantIdCannotBeNullOrNegativeException").timer().count());
+    }
+
+    @Test
+    void testOrdersCreatedAreCountedPerRestaurantBucket() {
+        orderMetrics.orderCreated(3L);
+        orderMetrics.orderCreated(3L + OrderMetrics.RESTAURANT_BUCKETS);
+        orderMetrics.orderCreated(4L);
+
+        assertEquals(2, registry.get("orders.created").tag("restaurant.bucket", "3").counter().count());
+        assertEquals(1, registry.get("orders.created").tag("restaurant.bucket", "4").counter().count());
+    }
+
+    @Test
+    void testStatusTransitionsAreCountedPerPair() {
+        orderMetrics.statusTransition(OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY, 5);
+        orderMetrics.statusTransition(OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED, 1);
+        orderMetrics.statusTransition(OrderStatus.PENDING, OrderStatus.CANCELLED, 0);
+
+        assertEquals(5, registry.get("order.status.transitions").tags("from", "CREATED", "to", "OUT_FOR_DELIVERY").counter().count());
+        assertEquals(1, registry.get("order.status.transitions").tags("from", "OUT_FOR_DELIVERY", "to", "DELIVERED").counter().count());
+        assertNull(registry.find("order.status.transitions").tags("from", "PENDING").counter());
+    }
+
+    @Test
+    void testStatusTransitionsInsideATransactionAreCountedOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        orderMetrics.statusTransition(OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY, 3);
+        orderMetrics.statusTransition(OrderStatus.CREATED, OrderStatus.CANCELLED, 1);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertNull(registry.find("order.status.transitions").counter());
+
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(3, registry.get("order.status.transitions").tags("from", "CREATED", "to", "OUT_FOR_DELIVERY").counter().count());
+        assertNull(registry.find("order.status.transitions").tags("to", "CANCELLED").counter());
+    }
+
+    private long catalogRequests(String endpoint, String outcome) {
+        return registry.get("catalog.requests").tags("endpoint", endpoint, "outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.order.repository;
+
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.enums.OrderStatus;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testOrderPageLoadsItemsInBoundedNumberOfStatements() {
+        assertEquals(statementsToReadOrderPage(5), statementsToReadOrderPage(50));
+        assertEquals(2, statementsToReadOrderPage(100));
+    }
+
+    @Test
+    void testFindByIdLoadsOrderAndItemsInOneStatement() {
+        Long orderId = saveOrders(1).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        int itemCount = order.getOrderItems().size();
+
+        assertEquals(2, itemCount);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByIdInLoadsOrdersAndItemsInOneStatement() {
+        List<Order> orders = saveOrders(20);
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Order> found = orderRepository.findByIdIn(orderIds);
+        int itemCount = found.stream().mapToInt(order -> order.getOrderItems().size()).sum();
+
+        assertEquals(20, found.size());
+        assertEquals(40, itemCount);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSaveOrderWritesOrderAndItemsInTwoBatchedStatements() {
+        saveOrders(1);
+        entityManager.clear();
+        statistics.clear();
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (long menuItemId = 1; menuItemId <= 10; menuItemId++) {
+            orderItems.add(new OrderItem(menuItemId, "Item " + menuItemId, 100.0, 1));
+        }
+
+        orderRepository.save(new Order(1L, 1L, "Nizampet, Hyderabad", orderItems));
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(11, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testConditionalStatusUpdateLetsExactlyOneConcurrentCallerWin() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long orderId = transactionTemplate.execute(status -> saveOrders(1).get(0).getId());
+        int callers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status ->
+                            orderRepository.updateStatusIfCurrent(orderId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY).isPresent() ? 1 : 0);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    winners += result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConcurrencyFailureException.class, e.getCause());
+                }
+            }
+
+            assertEquals(1, winners);
+            assertEquals(OrderStatus.OUT_FOR_DELIVERY, orderRepository.findById(orderId).orElseThrow().getStatus());
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.executeWithoutResult(status -> orderRepository.deleteAll());
+        }
+    }
+
+    @Test
+    void testConditionalStatusUpdateReturnsRestaurantIdOfMovedOrder() {
+        Long orderId = saveOrders(1).get(0).getId();
+
+        Optional<Long> moved = orderRepository.updateStatusIfCurrent(orderId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        Optional<Long> again = orderRepository.updateStatusIfCurrent(orderId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+
+        assertEquals(Optional.of(1L), moved);
+        assertEquals(Optional.empty(), again);
+    }
+
+    @Test
+    void testBulkStatusUpdateMovesOnlyCreatedOrders() {
+        List<Order> orders = saveOrders(3);
+        Long createdId = orders.get(0).getId();
+        Long dispatchedId = orders.get(1).getId();
+        orderRepository.updateStatusIfCurrent(dispatchedId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        entityManager.clear();
+
+        int[] counts = orderRepository.updateEachStatusIfCurrent(List.of(createdId, dispatchedId, -1L), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        List<OrderStatusView> statuses = orderRepository.findStatusesByIds(List.of(dispatchedId, createdId, -1L)).stream()
+                .sorted(Comparator.comparing(OrderStatusView::getId))
+                .toList();
+
+        assertArrayEquals(new int[]{1, 0, 0}, counts);
+        assertEquals(List.of(createdId, dispatchedId), statuses.stream().map(OrderStatusView::getId).toList());
+        assertEquals(List.of(1L, 1L), statuses.stream().map(OrderStatusView::getRestaurantId).toList());
+        assertEquals(List.of(OrderStatus.OUT_FOR_DELIVERY, OrderStatus.OUT_FOR_DELIVERY), statuses.stream().map(OrderStatusView::getStatus).toList());
+        assertEquals(OrderStatus.CREATED, orderRepository.findById(orders.get(2).getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCompareAndSetStatusRejectsStaleVersion() {
+        Long orderId = saveOrders(1).get(0).getId();
+        entityManager.clear();
+        OrderStatusView current = orderRepository.findStatusById(orderId).orElseThrow();
+
+        int first = orderRepository.compareAndSetStatus(orderId, current.getVersion(), OrderStatus.CONFIRMED);
+        int stale = orderRepository.compareAndSetStatus(orderId, current.getVersion(), OrderStatus.CANCELLED);
+
+        OrderStatusView updated = orderRepository.findStatusById(orderId).orElseThrow();
+        assertEquals(1, first);
+        assertEquals(0, stale);
+        assertEquals(OrderStatus.CONFIRMED, updated.getStatus());
+        assertEquals(current.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testStatsAggregatesRunInTheDatabaseWithoutLoadingEntities() {
+        List<Order> orders = saveOrders(3);
+        orderRepository.updateStatusIfCurrent(orders.get(0).getId(), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        entityManager.clear();
+        statistics.clear();
+        Instant from = Instant.now().minus(Duration.ofHours(1));
+        Instant to = Instant.now().plus(Duration.ofHours(1));
+
+        OrderTotalsView totals = orderRepository.sumTotals(1L, from, to);
+        Long itemCount = orderRepository.sumItemQuantities(1L, from, to);
+        List<OrderStatusCountView> byStatus = orderRepository.countByStatus(1L, from, to);
+
+        assertEquals(3L, totals.getOrderCount());
+        assertEquals(3 * 497.0, totals.getTotalRevenue());
+        assertEquals(9L, itemCount);
+        assertEquals(2, byStatus.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0L, orderRepository.sumTotals(2L, from, to).getOrderCount());
+        assertEquals(0L, orderRepository.sumTotals(1L, from.minus(Duration.ofDays(1)), from).getOrderCount());
+    }
+
+    @Test
+    void testOrdersWrittenWithoutCreatedAtStillCountInStats() {
+        insertOrderRows(3, 1, 1);
+
+        List<Instant> createdAt = jdbcTemplate.queryForList("select created_at from orders", Instant.class);
+        OrderTotalsView totals = orderRepository.sumTotals(1L, Instant.now().minus(Duration.ofHours(1)), Instant.now().plus(Duration.ofHours(1)));
+
+        assertEquals(3, createdAt.size());
+        assertTrue(createdAt.stream().allMatch(Objects::nonNull));
+        assertEquals(3L, totals.getOrderCount());
+    }
+
+    @Test
+    void testLiveStatsRebuildQueries() {
+        List<Order> orders = saveOrders(3);
+        orderRepository.updateStatusIfCurrent(orders.get(0).getId(), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        entityManager.clear();
+
+        List<RestaurantStatusCountView> counts = orderRepository.countByRestaurantAndStatus();
+        long createdRecently;
+        try (Stream<OrderCreatedView> created = orderRepository.streamCreatedSince(Instant.now().minus(Duration.ofMinutes(5)))) {
+            createdRecently = created.filter(view -> view.getRestaurantId() == 1L).count();
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(3L, counts.stream().mapToLong(RestaurantStatusCountView::getOrderCount).sum());
+        assertEquals(3, createdRecently);
+    }
+
+    @Test
+    void testFilteredPageReturnsOnlyMatchingOrdersAfterCursor() {
+        List<Order> orders = saveOrders(4);
+        orderRepository.updateStatusIfCurrent(orders.get(1).getId(), OrderStatus.CREATED, OrderStatus.CANCELLED);
+        entityManager.clear();
+        OrderFilterDto filter = new OrderFilterDto(1L, 1L, OrderStatus.CREATED, null, null);
+
+        List<Order> page = orderRepository.findBy(OrderSpecifications.matching(filter, orders.get(0).getId()),
+                query -> query.sortBy(Sort.by("id")).limit(10).all());
+
+        assertEquals(List.of(orders.get(2).getId(), orders.get(3).getId()), page.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFilteredQueriesUseCompositeIndexes() {
+        try {
+            insertOrderRows(50_000, 500, 5_000);
+            jdbcTemplate.execute("analyze");
+
+            String restaurantPlan = explain("select id from orders where id > 0 and restaurant_id = 7 and status = 'CREATED' order by id limit 21");
+            String customerPlan = explain("select id from orders where id > 0 and customer_id = 42 order by id limit 21");
+
+            assertTrue(restaurantPlan.contains("IDX_ORDERS_RESTAURANT_STATUS_ID"), restaurantPlan);
+            assertTrue(customerPlan.contains("IDX_ORDERS_CUSTOMER_ID"), customerPlan);
+        } finally {
+            jdbcTemplate.update("delete from orders");
+        }
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class)).toUpperCase();
+    }
+
+    private void insertOrderRows(int count, int restaurants, int customers) {
+        OrderStatus[] statuses = OrderStatus.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{1_000_000L + i, (long) (i % restaurants + 1), (long) (i % customers + 1),
+                    "Nizampet, Hyderabad", statuses[i % statuses.length].name(), 199.0});
+        }
+        jdbcTemplate.batchUpdate("insert into orders (id, restaurant_id, customer_id, delivery_address, status, total_price) values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private long statementsToReadOrderPage(int orderCount) {
+        orderRepository.deleteAll();
+        saveOrders(orderCount);
+        entityManager.clear();
+        statistics.clear();
+
+        List<Order> page = orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+        int itemCount = page.stream().mapToInt(order -> order.getOrderItems().size()).sum();
+
+        assertEquals(orderCount * 2, itemCount);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Order> saveOrders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
+            OrderItem item2 = new OrderItem(2L, "Burger", 99.0, 1);
+            orders.add(new Order(1L, 1L, "Nizampet, Hyderabad", new ArrayList<>(List.of(item1, item2))));
+        }
+        List<Order> saved = orderRepository.saveAll(orders);
+        entityManager.flush();
+        return saved;
+    }
+}
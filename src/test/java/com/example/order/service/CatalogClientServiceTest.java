@@ -2,21 +2,48 @@ package com.example.order.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.example.order.config.CatalogClientProperties;
 import com.example.order.dto.MenuItemDto;
+import com.example.order.exceptions.CatalogUnavailableException;
+import com.example.order.exceptions.GlobalExceptionHandler;
+import com.example.order.exceptions.MenuItemNotFoundException;
+import com.example.order.support.StubCatalogServer;
+import com.example.order.metrics.OrderMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.core.ParameterizedTypeReference;
+import org.mockito.Spy;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
 public class CatalogClientServiceTest {
 
     @InjectMocks
@@ -25,14 +52,33 @@ public class CatalogClientServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private CatalogClientProperties properties = new CatalogClientProperties();
+
+    @Spy
+    private CatalogLookupExecutor catalogLookupExecutor = new CatalogLookupExecutor(properties);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+    private final List<CatalogLookupExecutor> lookupExecutors = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        catalogLookupExecutor.destroy();
+        lookupExecutors.forEach(CatalogLookupExecutor::destroy);
+    }
+
     @Test
     void testGetMenuItemByIdAndRestaurantIdSuccess() {
         Long restaurantId = 1L;
@@ -42,9 +88,11 @@ public class CatalogClientServiceTest {
         MenuItemDto expectedMenuItem = new MenuItemDto(menuItemId, "Farmhouse Pizza", 300.0);
         String jsonResponse = "{\"id\":2,\"name\":\"Farmhouse Pizza\",\"price\":300.0}";
 
-        ResponseEntity<String> responseEntity = ResponseEntity.ok(jsonResponse);
-        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
-                .thenReturn(responseEntity);
+        when(restTemplate.execute(eq(URI.create(url)), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(jsonResponse.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
 
         MenuItemDto actualMenuItem = catalogClientService.getMenuItemByIdAndRestaurantId(restaurantId, menuItemId);
 
@@ -59,7 +107,7 @@ public class CatalogClientServiceTest {
         Long menuItemId = 20L;
         String url = "http://localhost:8080/catalog/restaurants/" + restaurantId + "/menuItems/" + menuItemId;
 
-        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+        when(restTemplate.execute(eq(URI.create(url)), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
                 .thenThrow(new RuntimeException("404 : Not Found: Menu item with ID '20' not found for restaurant with ID '1'"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -70,4 +118,298 @@ public class CatalogClientServiceTest {
         String actualMessage = exception.getMessage().replace("\"", "");
         assertEquals(expectedMessage, actualMessage);
     }
+
+    @Test
+    void testGetMenuItemServesRepeatedLookupsFromCache() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0));
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            CatalogClientService service = clientFor(propertiesFor(catalog), registry);
+
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            MenuItemDto menuItem = service.getMenuItemByIdAndRestaurantId(1L, 2L);
+
+            assertEquals("Farmhouse Pizza", menuItem.getName());
+            assertEquals(1, catalog.getRequestCount());
+            assertEquals(1, registry.get("cache.gets").tags("cache", "catalog.menu.items", "result", "hit").functionCounter().count());
+            assertEquals(1, registry.get("cache.gets").tags("cache", "catalog.menu.items", "result", "miss").functionCounter().count());
+        }
+    }
+
+    @Test
+    void testGetMenuItemCachesNotFoundResponses() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            CatalogClientService service = clientFor(propertiesFor(catalog));
+
+            assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+            Exception exception = assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+
+            assertEquals("Menu item with restaurant id: 1 and menu item id: 20 is not found", exception.getMessage());
+            assertEquals(1, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testInvalidateRestaurantEvictsOnlyThatRestaurant() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0));
+            catalog.addMenuItem(3L, new MenuItemDto(4L, "Veg Burger", 120.0));
+            CatalogClientService service = clientFor(propertiesFor(catalog));
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            service.getMenuItemByIdAndRestaurantId(3L, 4L);
+
+            new CatalogCacheEndpoint(service).invalidateRestaurant(1L);
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            service.getMenuItemByIdAndRestaurantId(3L, 4L);
+
+            assertEquals(3, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testGetMenuItemBypassesCacheWhenDisabled() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0));
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getCache().setEnabled(false);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            CatalogClientService service = clientFor(properties, registry);
+
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+
+            assertEquals(2, catalog.getRequestCount());
+            assertTrue(registry.find("cache.gets").meters().isEmpty());
+        }
+    }
+
+    @Test
+    void testGetMenuItemReportsUnknownItemTheSameWayWhenCacheIsDisabled() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getCache().setEnabled(false);
+            CatalogClientService service = clientFor(properties);
+
+            Exception exception = assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+
+            assertEquals("Menu item with restaurant id: 1 and menu item id: 20 is not found", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testGetMenuItemsUsesOneBulkRequestPerRestaurant() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.setBulkEndpointEnabled(true);
+            for (long menuItemId = 1; menuItemId <= 12; menuItemId++) {
+                catalog.addMenuItem(1L, new MenuItemDto(menuItemId, "Item " + menuItemId, 100.0));
+            }
+            CatalogClientService service = clientFor(propertiesFor(catalog));
+            List<Long> menuItemIds = LongStream.rangeClosed(1, 12).boxed().toList();
+
+            Map<Long, MenuItemDto> menuItems = service.getMenuItemsByIdsAndRestaurantId(1L, menuItemIds);
+            service.getMenuItemsByIdsAndRestaurantId(1L, menuItemIds);
+
+            assertEquals(12, menuItems.size());
+            assertEquals("Item 7", menuItems.get(7L).getName());
+            assertEquals(1, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testGetMenuItemsLeavesOutUnknownIdsAndCachesThem() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.setBulkEndpointEnabled(true);
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0));
+            CatalogClientService service = clientFor(propertiesFor(catalog));
+
+            Map<Long, MenuItemDto> menuItems = service.getMenuItemsByIdsAndRestaurantId(1L, List.of(2L, 20L));
+            assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+
+            assertEquals(Set.of(2L), menuItems.keySet());
+            assertEquals(1, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testUnknownRestaurantDoesNotSwitchOffBulkLookups() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.setBulkEndpointEnabled(true);
+            catalog.addMenuItem(1L, new MenuItemDto(1L, "Pizza", 199.0));
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Burger", 99.0));
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getCache().setEnabled(false);
+            CatalogClientService service = clientFor(properties);
+
+            Map<Long, MenuItemDto> unknownRestaurant = service.getMenuItemsByIdsAndRestaurantId(99L, List.of(1L, 2L));
+            int unknownRestaurantRequests = catalog.getRequestCount();
+            Map<Long, MenuItemDto> knownRestaurant = service.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L));
+
+            assertTrue(unknownRestaurant.isEmpty());
+            assertEquals(3, unknownRestaurantRequests);
+            assertEquals(2, knownRestaurant.size());
+            assertEquals(1, catalog.getRequestCount() - unknownRestaurantRequests);
+        }
+    }
+
+    @Test
+    void testGetMenuItemsFallsBackToPerItemCallsWithoutBulkEndpoint() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            for (long menuItemId = 1; menuItemId <= 12; menuItemId++) {
+                catalog.addMenuItem(1L, new MenuItemDto(menuItemId, "Item " + menuItemId, 100.0));
+            }
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getCache().setEnabled(false);
+            CatalogClientService service = clientFor(properties);
+            List<Long> menuItemIds = LongStream.rangeClosed(1, 12).boxed().toList();
+
+            Map<Long, MenuItemDto> firstOrder = service.getMenuItemsByIdsAndRestaurantId(1L, menuItemIds);
+            int firstOrderRequests = catalog.getRequestCount();
+            service.getMenuItemsByIdsAndRestaurantId(1L, menuItemIds);
+            int secondOrderRequests = catalog.getRequestCount() - firstOrderRequests;
+
+            assertEquals(12, firstOrder.size());
+            assertEquals(13, firstOrderRequests);
+            assertEquals(12, secondOrderRequests);
+        }
+    }
+
+    @Test
+    void testGetMenuItemsReportsCatalogUnavailableWhenPerItemCallsExceedDeadline() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(1L, "Pizza", 199.0));
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Burger", 99.0), Duration.ofSeconds(1));
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getBulk().setEnabled(false);
+            properties.getLookup().setTimeout(Duration.ofMillis(200));
+            CatalogClientService service = clientFor(properties);
+
+            CatalogUnavailableException exception = assertThrows(CatalogUnavailableException.class, () -> service.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L)));
+
+            assertEquals("Catalog service did not return the menu items of restaurant id: 1 in time, please retry later", exception.getMessage());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, new GlobalExceptionHandler().handleCatalogUnavailable(exception).getStatusCode());
+        }
+    }
+
+    @Test
+    void testCatalogRequestsAreTimedByOutcome() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0));
+            CatalogClientProperties properties = propertiesFor(catalog);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            CatalogClientService service = new CatalogClientService(properties, new RestTemplate(), new ObjectMapper(),
+                    lookupExecutor(properties), new OrderMetrics(registry));
+
+            service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+
+            assertEquals(1, registry.get("catalog.requests").tags("endpoint", "item", "outcome", "success").timer().count());
+            assertEquals(1, registry.get("catalog.requests").tags("endpoint", "item", "outcome", "not_found").timer().count());
+        }
+    }
+
+    @Test
+    void testCircuitBreakerOpensAfterCatalogErrorsAndFailsFast() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.setFailureStatus(500);
+            CatalogClientProperties properties = resilientPropertiesFor(catalog);
+            CatalogClientService service = clientFor(properties);
+
+            for (long menuItemId = 1; menuItemId <= 4; menuItemId++) {
+                long id = menuItemId;
+                assertThrows(HttpServerErrorException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, id));
+            }
+            Exception exception = assertThrows(CatalogUnavailableException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 5L));
+
+            assertEquals("Catalog service is unavailable, please retry later", exception.getMessage());
+            assertEquals(CircuitBreaker.State.OPEN, service.getCircuitBreakerState());
+            assertEquals(4, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testCircuitBreakerOpensWhenCatalogIsSlow() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0), Duration.ofMillis(150));
+            CatalogClientProperties properties = resilientPropertiesFor(catalog);
+            properties.getResilience().setSlowCallDurationThreshold(Duration.ofMillis(100));
+            CatalogClientService service = clientFor(properties);
+
+            for (int i = 0; i < 4; i++) {
+                service.getMenuItemByIdAndRestaurantId(1L, 2L);
+            }
+
+            assertThrows(CatalogUnavailableException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 2L));
+            assertEquals(4, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testNotFoundResponsesDoNotOpenCircuitBreaker() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            CatalogClientService service = clientFor(resilientPropertiesFor(catalog));
+
+            for (int i = 0; i < 8; i++) {
+                assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 20L));
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, service.getCircuitBreakerState());
+            assertEquals(8, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testBulkheadRejectsCallsBeyondConcurrencyLimit() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.addMenuItem(1L, new MenuItemDto(2L, "Farmhouse Pizza", 300.0), Duration.ofMillis(500));
+            catalog.addMenuItem(1L, new MenuItemDto(3L, "Veg Burger", 120.0));
+            CatalogClientProperties properties = resilientPropertiesFor(catalog);
+            properties.getResilience().setMaxConcurrentCalls(1);
+            CatalogClientService service = clientFor(properties);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<MenuItemDto> slowCall = executor.submit(() -> service.getMenuItemByIdAndRestaurantId(1L, 2L));
+                while (catalog.getRequestCount() == 0) {
+                    Thread.sleep(5);
+                }
+
+                long start = System.nanoTime();
+                assertThrows(CatalogUnavailableException.class, () -> service.getMenuItemByIdAndRestaurantId(1L, 3L));
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                assertTrue(elapsedMillis < 200, "rejected call waited for the slow call: " + elapsedMillis + " ms");
+                assertEquals("Farmhouse Pizza", slowCall.get(5, TimeUnit.SECONDS).getName());
+                assertEquals(1, catalog.getRequestCount());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static CatalogClientProperties resilientPropertiesFor(StubCatalogServer catalog) {
+        CatalogClientProperties properties = propertiesFor(catalog);
+        properties.getCache().setEnabled(false);
+        properties.getResilience().setSlidingWindowSize(4);
+        properties.getResilience().setMinimumNumberOfCalls(4);
+        return properties;
+    }
+
+    private static CatalogClientProperties propertiesFor(StubCatalogServer catalog) {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        properties.setBaseUrl(catalog.getBaseUrl());
+        return properties;
+    }
+
+    private CatalogClientService clientFor(CatalogClientProperties properties) {
+        return clientFor(properties, new SimpleMeterRegistry());
+    }
+
+    private CatalogClientService clientFor(CatalogClientProperties properties, MeterRegistry registry) {
+        return new CatalogClientService(properties, new RestTemplate(), new ObjectMapper(), lookupExecutor(properties), new OrderMetrics(registry));
+    }
+
+    private CatalogLookupExecutor lookupExecutor(CatalogClientProperties properties) {
+        CatalogLookupExecutor executor = new CatalogLookupExecutor(properties);
+        lookupExecutors.add(executor);
+        return executor;
+    }
 }
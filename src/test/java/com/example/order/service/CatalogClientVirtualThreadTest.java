@@ -0,0 +1,124 @@
+package com.example.order.service;
+
+import com.example.order.config.CatalogClientConfig;
+import com.example.order.config.CatalogClientProperties;
+import com.example.order.dto.MenuItemDto;
+import com.example.order.support.StubCatalogServer;
+import com.example.order.metrics.OrderMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogClientVirtualThreadTest {
+
+    private static final int REQUESTS = 200;
+    private static final Duration CATALOG_DELAY = Duration.ofMillis(50);
+
+    private final List<CatalogLookupExecutor> lookupExecutors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutors.forEach(CatalogLookupExecutor::destroy);
+    }
+
+    @Test
+    void testCatalogLookupsOnVirtualThreadsDoNotPinCarrierThreads() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            for (long restaurantId = 1; restaurantId <= 50; restaurantId++) {
+                catalog.addMenuItem(restaurantId, new MenuItemDto(1L, "Pizza", 199.0), CATALOG_DELAY);
+                catalog.addMenuItem(restaurantId, new MenuItemDto(2L, "Burger", 99.0), CATALOG_DELAY);
+            }
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getBulk().setEnabled(false);
+            List<String> pinnedThreads = new CopyOnWriteArrayList<>();
+
+            try (CloseableHttpClient httpClient = new CatalogClientConfig().catalogHttpClient(properties);
+                 RecordingStream recording = new RecordingStream();
+                 ExecutorService requests = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory())) {
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10));
+                recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedThreads.add(event.getThread() == null ? "" : event.getThread().getJavaName()));
+                recording.startAsync();
+                CatalogClientService service = clientFor(properties, httpClient);
+
+                List<Future<Map<Long, MenuItemDto>>> results = new ArrayList<>();
+                for (long restaurantId = 1; restaurantId <= 50; restaurantId++) {
+                    long id = restaurantId;
+                    results.add(requests.submit(() -> service.getMenuItemsByIdsAndRestaurantId(id, List.of(1L, 2L))));
+                }
+                for (Future<Map<Long, MenuItemDto>> result : results) {
+                    assertEquals(2, result.get(10, TimeUnit.SECONDS).size());
+                }
+                recording.stop();
+            }
+
+            assertTrue(pinnedThreads.stream().noneMatch(name -> name.startsWith("request-") || name.startsWith("catalog-")),
+                    "virtual threads were pinned while waiting on the catalog: " + pinnedThreads);
+        }
+    }
+
+    @Test
+    @Tag("timing")
+    void testVirtualThreadsServeMoreConcurrentRequestsThanPlatformPool() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            for (long restaurantId = 1; restaurantId <= REQUESTS; restaurantId++) {
+                catalog.addMenuItem(restaurantId, new MenuItemDto(1L, "Pizza", 199.0), CATALOG_DELAY);
+            }
+            CatalogClientProperties properties = propertiesFor(catalog);
+            properties.getCache().setEnabled(false);
+
+            try (CloseableHttpClient httpClient = new CatalogClientConfig().catalogHttpClient(properties)) {
+                CatalogClientService service = clientFor(properties, httpClient);
+                long platformMillis = timeRequests(service, Executors.newFixedThreadPool(20));
+                long virtualMillis = timeRequests(service, Executors.newVirtualThreadPerTaskExecutor());
+
+                assertTrue(virtualMillis < platformMillis,
+                        "virtual threads (" + virtualMillis + " ms) were not faster than the platform pool (" + platformMillis + " ms)");
+            }
+        }
+    }
+
+    private static long timeRequests(CatalogClientService service, ExecutorService requests) throws Exception {
+        try (requests) {
+            List<Future<MenuItemDto>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (long restaurantId = 1; restaurantId <= REQUESTS; restaurantId++) {
+                long id = restaurantId;
+                results.add(requests.submit(() -> service.getMenuItemByIdAndRestaurantId(id, 1L)));
+            }
+            for (Future<MenuItemDto> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+            return Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+    }
+
+    private static CatalogClientProperties propertiesFor(StubCatalogServer catalog) {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        properties.setBaseUrl(catalog.getBaseUrl());
+        properties.getLookup().setVirtualThreads(true);
+        properties.getHttp().setMaxConnections(REQUESTS);
+        properties.getHttp().setMaxConnectionsPerHost(REQUESTS);
+        properties.getResilience().setMaxConcurrentCalls(REQUESTS);
+        return properties;
+    }
+
+    private CatalogClientService clientFor(CatalogClientProperties properties, CloseableHttpClient httpClient) {
+        CatalogLookupExecutor lookupExecutor = new CatalogLookupExecutor(properties);
+        lookupExecutors.add(lookupExecutor);
+        return new CatalogClientService(properties, new CatalogClientConfig().catalogRestTemplate(httpClient),
+                new ObjectMapper(), lookupExecutor, new OrderMetrics(new SimpleMeterRegistry()));
+    }
+}
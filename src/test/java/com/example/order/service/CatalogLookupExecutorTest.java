@@ -0,0 +1,108 @@
+package com.example.order.service;
+
+import com.example.order.config.CatalogClientProperties;
+import com.example.order.exceptions.MenuItemNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogLookupExecutorTest {
+
+    private CatalogLookupExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testMapAllKeepsInputOrder() throws Exception {
+        executor = new CatalogLookupExecutor(new CatalogClientProperties());
+
+        List<Long> results = executor.mapAll(List.of(30L, 10L, 20L), delay -> {
+            sleep(delay);
+            return delay;
+        });
+
+        assertEquals(List.of(30L, 10L, 20L), results);
+    }
+
+    @Test
+    void testMapAllRethrowsFirstFailureInInputOrder() {
+        executor = new CatalogLookupExecutor(new CatalogClientProperties());
+
+        Exception exception = assertThrows(MenuItemNotFoundException.class, () -> {
+            executor.mapAll(List.of(1L, 2L, 3L), id -> {
+                if (id == 1L) {
+                    sleep(50L);
+                }
+                if (id != 3L) {
+                    throw new MenuItemNotFoundException("Menu item " + id + " is not found");
+                }
+                return id;
+            });
+        });
+        assertEquals("Menu item 1 is not found", exception.getMessage());
+    }
+
+    @Test
+    void testMapAllTimesOutWhenLookupsExceedDeadline() {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        properties.getLookup().setTimeout(Duration.ofMillis(100));
+        executor = new CatalogLookupExecutor(properties);
+
+        assertThrows(TimeoutException.class, () -> {
+            executor.mapAll(List.of(10L, 1000L), delay -> {
+                sleep(delay);
+                return delay;
+            });
+        });
+    }
+
+    @Test
+    void testMapAllRunsSequentiallyWhenParallelLookupIsDisabled() throws Exception {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        properties.getLookup().setParallel(false);
+        executor = new CatalogLookupExecutor(properties);
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> ranOnCaller = executor.mapAll(List.of(1L, 2L), id -> Thread.currentThread() == caller);
+
+        assertEquals(List.of(true, true), ranOnCaller);
+    }
+
+    @Test
+    void testMapAllOnVirtualThreadsKeepsConcurrencyLimit() throws Exception {
+        CatalogClientProperties properties = new CatalogClientProperties();
+        properties.getLookup().setVirtualThreads(true);
+        properties.getLookup().setMaxConcurrency(2);
+        executor = new CatalogLookupExecutor(properties);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Boolean> ranOnVirtualThread = executor.mapAll(List.of(1L, 2L, 3L, 4L, 5L, 6L), id -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(50L);
+            inFlight.decrementAndGet();
+            return Thread.currentThread().isVirtual();
+        });
+
+        assertEquals(List.of(true, true, true, true, true, true), ranOnVirtualThread);
+        assertEquals(2, maxInFlight.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.order.service;
+
+import com.example.order.config.LiveOrderStatsProperties;
+import com.example.order.dto.LiveOrderStatsDto;
+import com.example.order.enums.OrderStatus;
+import com.example.order.repository.OrderCreatedView;
+import com.example.order.repository.RestaurantStatusCountView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveOrderStatsTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T12:00:30Z");
+
+    private final AtomicLong now = new AtomicLong(START.toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCountersStayExactUnderConcurrentWrites() throws Exception {
+        LiveOrderStats stats = statsWithWindow(Duration.ofMinutes(60));
+        int threads = 16;
+        int ordersPerThread = 20_000;
+        int restaurants = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerThread; i++) {
+                    long restaurantId = i % restaurants + 1;
+                    stats.orderCreated(restaurantId);
+                    if (i / restaurants % 2 == 0) {
+                        stats.statusChanged(restaurantId, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+                    }
+                    if (i % 1000 == 0) {
+                        now.addAndGet(Duration.ofSeconds(1).toMillis());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long expectedPerRestaurant = (long) threads * ordersPerThread / restaurants;
+        for (LiveOrderStatsDto snapshot : stats.snapshotAll(60)) {
+            assertEquals(expectedPerRestaurant, snapshot.getOrdersCreated());
+            assertEquals(expectedPerRestaurant / 2, snapshot.getStatusCounts().get(OrderStatus.CREATED));
+            assertEquals(expectedPerRestaurant / 2, snapshot.getStatusCounts().get(OrderStatus.OUT_FOR_DELIVERY));
+        }
+        assertEquals(restaurants, stats.snapshotAll(60).size());
+    }
+
+    @Test
+    void testCreatedCountSlidesWithTheWindow() {
+        LiveOrderStats stats = statsWithWindow(Duration.ofMinutes(10));
+
+        stats.orderCreated(1L);
+        now.addAndGet(Duration.ofMinutes(5).toMillis());
+        stats.orderCreated(1L);
+        stats.orderCreated(1L);
+
+        assertEquals(3, stats.snapshot(1L, 10).getOrdersCreated());
+        assertEquals(2, stats.snapshot(1L, 1).getOrdersCreated());
+
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+        assertEquals(2, stats.snapshot(1L, 10).getOrdersCreated());
+
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        stats.orderCreated(1L);
+        assertEquals(1, stats.snapshot(1L, 10).getOrdersCreated());
+        assertEquals(4L, stats.snapshot(1L, 10).getStatusCounts().get(OrderStatus.CREATED));
+    }
+
+    @Test
+    void testUpdatesInsideATransactionApplyOnlyOnCommit() {
+        LiveOrderStats stats = statsWithWindow(Duration.ofMinutes(60));
+        TransactionSynchronizationManager.initSynchronization();
+
+        stats.orderCreated(1L);
+        assertEquals(0, stats.snapshot(1L, 60).getOrdersCreated());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, stats.snapshot(1L, 60).getOrdersCreated());
+    }
+
+    @Test
+    void testRebuildReplacesCountersWithDatabaseState() {
+        LiveOrderStats stats = statsWithWindow(Duration.ofMinutes(60));
+        stats.orderCreated(9L);
+
+        stats.rebuild(List.of(statusCount(1L, OrderStatus.CREATED, 2L), statusCount(1L, OrderStatus.DELIVERED, 5L)),
+                Stream.of(created(1L, START.minus(Duration.ofMinutes(2))),
+                        created(1L, START.minus(Duration.ofHours(2))),
+                        created(1L, START)));
+
+        List<LiveOrderStatsDto> snapshots = stats.snapshotAll(60);
+        assertEquals(1, snapshots.size());
+        assertEquals(2, snapshots.get(0).getOrdersCreated());
+        assertEquals(2L, snapshots.get(0).getStatusCounts().get(OrderStatus.CREATED));
+        assertEquals(5L, snapshots.get(0).getStatusCounts().get(OrderStatus.DELIVERED));
+    }
+
+    private LiveOrderStats statsWithWindow(Duration window) {
+        LiveOrderStatsProperties properties = new LiveOrderStatsProperties();
+        properties.setWindow(window);
+        return new LiveOrderStats(properties, clock);
+    }
+
+    private static RestaurantStatusCountView statusCount(Long restaurantId, OrderStatus status, Long orderCount) {
+        return new RestaurantStatusCountView() {
+            @Override
+            public Long getRestaurantId() {
+                return restaurantId;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getOrderCount() {
+                return orderCount;
+            }
+        };
+    }
+
+    private static OrderCreatedView created(Long restaurantId, Instant createdAt) {
+        return new OrderCreatedView() {
+            @Override
+            public Long getRestaurantId() {
+                return restaurantId;
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderExportProperties;
+import com.example.order.model.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("low-memory")
+@DataJpaTest
+@Import(OrderExportService.class)
+@EnableConfigurationProperties(OrderExportProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderExportServiceTest {
+    private static final int ORDER_COUNT = 100_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_items");
+        jdbcTemplate.update("delete from orders");
+    }
+
+    @Test
+    void testExportOrdersStreamsEveryOrderAsOneLine() throws Exception {
+        insertOrders();
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = orderExportService.exportOrders(out);
+
+        assertEquals(ORDER_COUNT, exported);
+        assertEquals(ORDER_COUNT, out.lines);
+        Order first = objectMapper.readValue(out.firstLine.toByteArray(), Order.class);
+        assertEquals(1L, first.getId());
+        assertEquals(1, first.getOrderItems().size());
+        assertEquals(398.0, first.getTotalPrice());
+    }
+
+    private void insertOrders() {
+        for (int from = 1; from <= ORDER_COUNT; from += INSERT_BATCH_SIZE) {
+            List<Object[]> orders = new ArrayList<>();
+            List<Object[]> items = new ArrayList<>();
+            for (long id = from; id < from + INSERT_BATCH_SIZE && id <= ORDER_COUNT; id++) {
+                orders.add(new Object[]{id, 1 + id % 50, 1 + id % 1000, "Nizampet, Hyderabad", "CREATED", 398.0});
+                items.add(new Object[]{id, 1L, "Pizza", 199.0, 2, id});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, restaurant_id, customer_id, delivery_address, status, total_price) values (?, ?, ?, ?, ?, ?)", orders);
+            jdbcTemplate.batchUpdate("insert into order_items (id, menu_item_id, menu_item_name, price, quantity, order_id) values (?, ?, ?, ?, ?, ?)", items);
+        }
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            } else if (lines == 0) {
+                firstLine.write(b);
+            }
+        }
+    }
+}
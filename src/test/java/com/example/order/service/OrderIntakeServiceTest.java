@@ -0,0 +1,165 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderIntakeProperties;
+import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderIntakeStatusDto;
+import com.example.order.enums.IntakeState;
+import com.example.order.exceptions.IntakeRequestNotFoundException;
+import com.example.order.exceptions.MenuItemNotFoundException;
+import com.example.order.exceptions.OrderIntakeFullException;
+import com.example.order.exceptions.RestaurantIdCannotBeNullOrNegativeException;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderIntakeServiceTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderIntakeService intakeService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (intakeService != null) {
+            intakeService.destroy();
+        }
+    }
+
+    @Test
+    void testSubmittedOrderIsCreatedByWorker() throws Exception {
+        intakeService = intakeService(2, 10);
+        when(orderService.createOrder(any(), any(), any(), any())).thenReturn(orderWithId(42L));
+
+        OrderIntakeStatusDto accepted = intakeService.submit(orderDto());
+
+        assertEquals(IntakeState.QUEUED, accepted.getState());
+        OrderIntakeStatusDto finished = awaitFinished(accepted.getTrackingId());
+        assertEquals(IntakeState.CREATED, finished.getState());
+        assertEquals(42L, finished.getOrderId());
+    }
+
+    @Test
+    void testFailedCreationIsReportedInStatus() throws Exception {
+        intakeService = intakeService(1, 10);
+        when(orderService.createOrder(any(), any(), any(), any()))
+                .thenThrow(new MenuItemNotFoundException("Menu item with ID '1' not found for restaurant with ID '1'"));
+
+        OrderIntakeStatusDto accepted = intakeService.submit(orderDto());
+
+        OrderIntakeStatusDto finished = awaitFinished(accepted.getTrackingId());
+        assertEquals(IntakeState.FAILED, finished.getState());
+        assertEquals("Menu item with ID '1' not found for restaurant with ID '1'", finished.getError());
+    }
+
+    @Test
+    void testFullQueueIsRejectedWithRetryAfter() throws Exception {
+        intakeService = intakeService(1, 1);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any(), any(), any(), any())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return orderWithId(1L);
+        });
+
+        OrderIntakeStatusDto running = intakeService.submit(orderDto());
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        OrderIntakeStatusDto waiting = intakeService.submit(orderDto());
+        OrderIntakeFullException exception = assertThrows(OrderIntakeFullException.class, () -> intakeService.submit(orderDto()));
+        release.countDown();
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("order.intake.rejected").counter().count());
+        assertEquals(IntakeState.CREATED, awaitFinished(running.getTrackingId()).getState());
+        assertEquals(IntakeState.CREATED, awaitFinished(waiting.getTrackingId()).getState());
+        verify(orderService, times(2)).createOrder(any(), any(), any(), any());
+    }
+
+    @Test
+    void testInvalidShapeIsRejectedBeforeQueueing() {
+        intakeService = intakeService(1, 1);
+        OrderDto orderDto = new OrderDto(-1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+
+        Exception exception = assertThrows(RestaurantIdCannotBeNullOrNegativeException.class, () -> intakeService.submit(orderDto));
+
+        assertEquals("Restaurant ID cannot be null and must be greater than zero", exception.getMessage());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testOrdersStillQueuedAtShutdownAreCreatedBeforeItCompletes() throws Exception {
+        intakeService = intakeService(1, 10, Duration.ofSeconds(5));
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        when(orderService.createOrder(any(), any(), any(), any())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            Thread.sleep(50);
+            return orderWithId(1L);
+        });
+
+        intakeService.submit(orderDto());
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        intakeService.submit(orderDto());
+        intakeService.submit(orderDto());
+        intakeService.destroy();
+
+        verify(orderService, times(3)).createOrder(any(), any(), any(), any());
+    }
+
+    @Test
+    void testUnknownTrackingId() {
+        intakeService = intakeService(1, 1);
+
+        Exception exception = assertThrows(IntakeRequestNotFoundException.class, () -> intakeService.getStatus("missing"));
+
+        assertEquals("Intake request not found with tracking id: missing", exception.getMessage());
+    }
+
+    private OrderIntakeService intakeService(int workers, int queueCapacity) {
+        return intakeService(workers, queueCapacity, Duration.ofMillis(100));
+    }
+
+    private OrderIntakeService intakeService(int workers, int queueCapacity, Duration shutdownTimeout) {
+        OrderIntakeProperties properties = new OrderIntakeProperties();
+        properties.setWorkers(workers);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        properties.setShutdownTimeout(shutdownTimeout);
+        return new OrderIntakeService(orderService, properties, new OrderMetrics(meterRegistry));
+    }
+
+    private OrderIntakeStatusDto awaitFinished(String trackingId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OrderIntakeStatusDto status = intakeService.getStatus(trackingId);
+        while ((status.getState() == IntakeState.QUEUED || status.getState() == IntakeState.PROCESSING) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+            status = intakeService.getStatus(trackingId);
+        }
+        return status;
+    }
+
+    private static OrderDto orderDto() {
+        return new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+    }
+
+    private static Order orderWithId(Long id) {
+        Order order = new Order(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
+}
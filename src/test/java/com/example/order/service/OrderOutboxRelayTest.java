@@ -0,0 +1,213 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderOutboxProperties;
+import com.example.order.dto.OrderEventDto;
+import com.example.order.enums.OrderEventType;
+import com.example.order.enums.OrderStatus;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import com.example.order.model.OrderOutboxEvent;
+import com.example.order.repository.OrderOutboxRepository;
+import com.example.order.repository.OrderRepository;
+import com.example.order.support.InMemoryOrderEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(OrderOutbox.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxRelayTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryOrderEventPublisher publisher = new InMemoryOrderEventPublisher();
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void testNewOrdersAndStatusChangesAreWrittenToTheOutbox() {
+        Order saved = orderOutbox.saveNewOrder(order(7L));
+        transactionTemplate.executeWithoutResult(status ->
+                orderOutbox.recordStatusChange(saved.getId(), 7L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY));
+
+        List<OrderOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        assertEquals(2, events.size());
+        OrderOutboxEvent created = events.get(0);
+        assertEquals(OrderEventType.ORDER_CREATED, created.getEventType());
+        assertEquals(saved.getId(), created.getOrderId());
+        assertEquals(7L, created.getRestaurantId());
+        assertTrue(created.getPayload().contains("\"deliveryAddress\":\"Nizampet, Hyderabad\""), created.getPayload());
+        OrderOutboxEvent statusChanged = events.get(1);
+        assertEquals(OrderEventType.ORDER_STATUS_CHANGED, statusChanged.getEventType());
+        assertEquals(OrderStatus.CREATED, statusChanged.getPreviousStatus());
+        assertEquals(OrderStatus.OUT_FOR_DELIVERY, statusChanged.getStatus());
+        assertNull(statusChanged.getPublishedAt());
+    }
+
+    @Test
+    void testStatusChangeOutsideATransactionIsRejected() {
+        assertThrows(IllegalTransactionStateException.class, () ->
+                orderOutbox.recordStatusChange(1L, 1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY));
+    }
+
+    @Test
+    void testRolledBackOrderLeavesNoEvent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderOutbox.saveNewOrder(order(1L));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    void testRelayPublishesInBatchesAndMarksEventsDelivered() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(order(1L));
+        }
+        orderOutbox.saveNewOrders(orders);
+        OrderOutboxRelay relay = relay(10, 20);
+
+        assertEquals(25, relay.relay());
+
+        assertEquals(List.of(10, 10, 5), publisher.getBatches().stream().map(List::size).toList());
+        List<Long> eventIds = publisher.getEvents().stream().map(OrderEventDto::getEventId).toList();
+        assertEquals(eventIds.stream().sorted().toList(), eventIds);
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null && event.getAttempts() == 1));
+        assertEquals(25, meterRegistry.get("order.outbox.published").counter().count());
+        assertEquals(0, relay.relay());
+        assertEquals(3, publisher.getBatches().size());
+    }
+
+    @Test
+    void testRelayStopsAfterMaxBatchesPerRun() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            orders.add(order(1L));
+        }
+        orderOutbox.saveNewOrders(orders);
+
+        assertEquals(20, relay(10, 2).relay());
+        assertEquals(10, relay(10, 2).relay());
+    }
+
+    @Test
+    void testFailedBatchStaysInTheOutboxAndIsRetriedAfterBackoff() {
+        orderOutbox.saveNewOrders(List.of(order(1L), order(2L)));
+        publisher.failWith(new IllegalStateException("broker unavailable"));
+
+        assertEquals(0, relay(10, 20).relay());
+
+        List<OrderOutboxEvent> failed = outboxRepository.findAll();
+        assertTrue(failed.stream().allMatch(event -> event.getPublishedAt() == null && event.getAttempts() == 1
+                && "broker unavailable".equals(event.getLastError()) && event.getNextAttemptAt().isAfter(Instant.now())));
+        assertEquals(2, meterRegistry.get("order.outbox.failed").counter().count());
+
+        publisher.failWith(null);
+        assertEquals(0, relay(10, 20).relay());
+        assertEquals(2, relay(10, 20, 10, Duration.ofMinutes(1)).relay());
+        assertTrue(outboxRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null && event.getAttempts() == 2));
+    }
+
+    @Test
+    void testPoisonEventDoesNotBlockTheEventsBehindIt() {
+        List<Order> orders = new ArrayList<>();
+        for (long restaurantId = 1; restaurantId <= 5; restaurantId++) {
+            orders.add(order(restaurantId));
+        }
+        orderOutbox.saveNewOrders(orders);
+        publisher.reject(event -> event.getRestaurantId() == 2L);
+
+        assertEquals(4, relay(10, 20, 2, Duration.ZERO).relay());
+        assertEquals(List.of(1L, 3L, 4L, 5L), publisher.getEvents().stream().map(OrderEventDto::getRestaurantId).toList());
+
+        assertEquals(0, relay(10, 20, 2, Duration.ofMinutes(1)).relay());
+        OrderOutboxEvent poison = outboxRepository.findAll().stream().filter(event -> event.getPublishedAt() == null).findFirst().orElseThrow();
+        assertEquals(2L, poison.getRestaurantId());
+        assertEquals(2, poison.getAttempts());
+        assertEquals("event rejected by the broker", poison.getLastError());
+        assertEquals(1, meterRegistry.get("order.outbox.parked").counter().count());
+
+        orderOutbox.saveNewOrder(order(6L));
+        assertEquals(1, relay(10, 20, 2, Duration.ofMinutes(1)).relay());
+        assertEquals(2, outboxRepository.findById(poison.getId()).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void testPurgeDeletesOnlyPublishedEventsPastRetention() {
+        orderOutbox.saveNewOrders(List.of(order(1L), order(2L), order(3L)));
+        List<Long> ids = outboxRepository.findAll(Sort.by("id")).stream().map(OrderOutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.markPublished(List.of(ids.get(0)), Instant.now().minus(Duration.ofDays(8)));
+            outboxRepository.markPublished(List.of(ids.get(1)), Instant.now().minus(Duration.ofDays(1)));
+        });
+
+        assertEquals(1, relay(10, 20).purgePublished());
+
+        assertEquals(ids.subList(1, 3), outboxRepository.findAll(Sort.by("id")).stream().map(OrderOutboxEvent::getId).toList());
+    }
+
+    private OrderOutboxRelay relay(int batchSize, int maxBatchesPerRun) {
+        return relay(batchSize, maxBatchesPerRun, 10, Duration.ZERO);
+    }
+
+    private OrderOutboxRelay relay(int batchSize, int maxBatchesPerRun, int maxAttempts, Duration clockOffset) {
+        OrderOutboxProperties properties = new OrderOutboxProperties();
+        properties.setBatchSize(batchSize);
+        properties.setMaxBatchesPerRun(maxBatchesPerRun);
+        properties.setMaxAttempts(maxAttempts);
+        return new OrderOutboxRelay(properties, outboxRepository, publisher, transactionManager, new OrderMetrics(meterRegistry),
+                Clock.offset(Clock.systemUTC(), clockOffset));
+    }
+
+    private static Order order(Long restaurantId) {
+        return new Order(restaurantId, 1L, "Nizampet, Hyderabad", new ArrayList<>(List.of(new OrderItem(1L, "Pizza", 199.0, 2))));
+    }
+}
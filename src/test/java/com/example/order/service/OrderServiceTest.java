@@ -1,23 +1,56 @@
 package com.example.order.service;
 
+import com.example.order.config.CatalogClientProperties;
+import com.example.order.config.LiveOrderStatsProperties;
+import com.example.order.config.OrderViewCacheProperties;
+import com.example.order.dto.BatchOrderResultDto;
+import com.example.order.dto.BulkStatusUpdateResultDto;
+import com.example.order.dto.LiveOrderStatsDto;
 import com.example.order.dto.MenuItemDto;
 import com.example.order.dto.OrderDto;
+import com.example.order.dto.OrderFilterDto;
+import com.example.order.dto.OrderLookupResultDto;
+import com.example.order.dto.OrderPageDto;
+import com.example.order.dto.OrderStatsDto;
 import com.example.order.enums.OrderStatus;
 import com.example.order.exceptions.*;
 import com.example.order.model.Order;
 import com.example.order.model.OrderItem;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderStatusCountView;
+import com.example.order.repository.OrderStatusView;
+import com.example.order.repository.OrderTotalsView;
+import com.example.order.support.StubCatalogServer;
+import com.example.order.metrics.OrderMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class OrderServiceTest {
@@ -31,9 +64,35 @@ class OrderServiceTest {
     @Mock
     private CatalogClientService catalogClientService;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+    @Spy
+    private OrderViewCache orderViewCache = new OrderViewCache(new OrderViewCacheProperties(), new ObjectMapper(), orderMetrics);
+
+    @Spy
+    private LiveOrderStats liveOrderStats = new LiveOrderStats(new LiveOrderStatsProperties());
+
+    @Mock
+    private OrderWriteCoalescer orderWriteCoalescer;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    private final List<CatalogLookupExecutor> lookupExecutors = new ArrayList<>();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> orderRepository.save(invocation.getArgument(0)));
+        when(orderOutbox.saveNewOrders(any())).thenAnswer(invocation -> orderRepository.saveAll(invocation.<List<Order>>getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutors.forEach(CatalogLookupExecutor::destroy);
     }
 
     @Test
@@ -46,8 +105,7 @@ class OrderServiceTest {
         MenuItemDto menuItemDto1 = new MenuItemDto(1L, "Pizza", 199.0);
         MenuItemDto menuItemDto2 = new MenuItemDto(2L, "Burger", 99.0);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 1L)).thenReturn(menuItemDto1);
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 2L)).thenReturn(menuItemDto2);
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L))).thenReturn(Map.of(1L, menuItemDto1, 2L, menuItemDto2));
 
         Order expectedOrder = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
         when(orderRepository.save(any(Order.class))).thenReturn(expectedOrder);
@@ -55,9 +113,39 @@ class OrderServiceTest {
         Order createdOrder = orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
 
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderOutbox, times(1)).saveNewOrder(any(Order.class));
         assertEquals(497.0, createdOrder.getTotalPrice());
     }
 
+    @Test
+    void testCreateOrderGoesThroughWriteCoalescerWhenEnabled() {
+        List<OrderItem> orderItems = List.of(new OrderItem(1L, "Pizza", 199.0, 2));
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L))).thenReturn(Map.of(1L, new MenuItemDto(1L, "Pizza", 199.0)));
+        when(orderWriteCoalescer.isEnabled()).thenReturn(true);
+        when(orderWriteCoalescer.save(any())).thenAnswer(invocation -> {
+            Supplier<Order> orderFactory = invocation.getArgument(0);
+            return orderFactory.get();
+        });
+
+        Order createdOrder = orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+
+        assertEquals(398.0, createdOrder.getTotalPrice());
+        verify(orderWriteCoalescer, times(1)).save(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testCreateOrderRecordsTimerAndRestaurantCounter() {
+        List<OrderItem> orderItems = List.of(new OrderItem(1L, "Pizza", 199.0, 2));
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L))).thenReturn(Map.of(1L, new MenuItemDto(1L, "Pizza", 199.0)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+
+        assertEquals(1, meterRegistry.get("order.create").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("orders.created").tag("restaurant.bucket", "1").counter().count());
+    }
+
     @Test
     void testCreateOrderWithNullRestaurantId() {
         OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
@@ -94,8 +182,7 @@ class OrderServiceTest {
         MenuItemDto menuItemDto1 = new MenuItemDto(1L, "Pizza", 199.0);
         MenuItemDto menuItemDto2 = new MenuItemDto(2L, "Burger", 99.0);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 1L)).thenReturn(menuItemDto1);
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 2L)).thenReturn(menuItemDto2);
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L))).thenReturn(Map.of(1L, menuItemDto1, 2L, menuItemDto2));
 
         Exception exception = assertThrows(CustomerIdCannotBeNullOrNegativeException.class, () -> {
             orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
@@ -113,8 +200,7 @@ class OrderServiceTest {
         MenuItemDto menuItemDto1 = new MenuItemDto(1L, "Pizza", 199.0);
         MenuItemDto menuItemDto2 = new MenuItemDto(2L, "Burger", 99.0);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 1L)).thenReturn(menuItemDto1);
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 2L)).thenReturn(menuItemDto2);
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L))).thenReturn(Map.of(1L, menuItemDto1, 2L, menuItemDto2));
 
         Exception exception = assertThrows(CustomerIdCannotBeNullOrNegativeException.class, () -> {
             orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
@@ -132,8 +218,7 @@ class OrderServiceTest {
         MenuItemDto menuItemDto1 = new MenuItemDto(1L, "Pizza", 199.0);
         MenuItemDto menuItemDto2 = new MenuItemDto(2L, "Burger", 99.0);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 1L)).thenReturn(menuItemDto1);
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 2L)).thenReturn(menuItemDto2);
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L))).thenReturn(Map.of(1L, menuItemDto1, 2L, menuItemDto2));
 
         Exception exception = assertThrows(DeliveryAddressCannotBeNullOrEmpty.class, () -> {
             orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
@@ -151,8 +236,7 @@ class OrderServiceTest {
         MenuItemDto menuItemDto1 = new MenuItemDto(1L, "Pizza", 199.0);
         MenuItemDto menuItemDto2 = new MenuItemDto(2L, "Burger", 99.0);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 1L)).thenReturn(menuItemDto1);
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 2L)).thenReturn(menuItemDto2);
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L))).thenReturn(Map.of(1L, menuItemDto1, 2L, menuItemDto2));
 
         Exception exception = assertThrows(DeliveryAddressCannotBeNullOrEmpty.class, () -> {
             orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
@@ -186,7 +270,7 @@ class OrderServiceTest {
         List<OrderItem> orderItems = List.of(item1);
         OrderDto orderDto = new OrderDto(1L, 1L, "Nizampet, Hyderabad", orderItems);
 
-        when(catalogClientService.getMenuItemByIdAndRestaurantId(1L, 10L)).thenThrow(new MenuItemNotFoundException("Failed to retrieve the menu item with restaurant id: 1 and menu item id: 10"));
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(10L))).thenReturn(Collections.emptyMap());
 
         Exception exception = assertThrows(MenuItemNotFoundException.class, () -> {
             orderService.createOrder(orderDto.getRestaurantId(), orderDto.getCustomerId(), orderDto.getDeliveryAddress(), orderDto.getOrderItems());
@@ -196,32 +280,254 @@ class OrderServiceTest {
     }
 
     @Test
-    void testGetAllOrders() {
+    void testCreateOrderLooksUpMenuItemsConcurrently() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            for (long menuItemId = 1; menuItemId <= 6; menuItemId++) {
+                catalog.addMenuItem(1L, new MenuItemDto(menuItemId, "Item " + menuItemId, 100.0), Duration.ofMillis(300));
+            }
+            CatalogClientProperties properties = new CatalogClientProperties();
+            properties.setBaseUrl(catalog.getBaseUrl());
+            properties.getBulk().setEnabled(false);
+            CatalogClientService client = new CatalogClientService(properties, new RestTemplate(), new ObjectMapper(), lookupExecutor(properties), orderMetrics);
+            OrderService service = new OrderService(orderRepository, client, orderViewCache, orderMetrics, liveOrderStats, orderWriteCoalescer, orderOutbox);
+            when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            List<OrderItem> orderItems = LongStream.rangeClosed(1, 6)
+                    .mapToObj(menuItemId -> new OrderItem(menuItemId, "Item " + menuItemId, 100.0, 1))
+                    .toList();
+
+            Order createdOrder = service.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+
+            assertEquals(600.0, createdOrder.getTotalPrice());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), createdOrder.getOrderItems().stream().map(OrderItem::getMenuItemId).toList());
+            assertEquals(6, catalog.getRequestCount());
+            assertEquals(6, catalog.getMaxRequestsInFlight());
+        }
+    }
+
+    @Test
+    void testCreateOrderResolvesMenuItemsWithOneCatalogRequest() throws Exception {
+        try (StubCatalogServer catalog = new StubCatalogServer()) {
+            catalog.setBulkEndpointEnabled(true);
+            for (long menuItemId = 1; menuItemId <= 12; menuItemId++) {
+                catalog.addMenuItem(1L, new MenuItemDto(menuItemId, "Item " + menuItemId, 100.0));
+            }
+            CatalogClientProperties properties = new CatalogClientProperties();
+            properties.setBaseUrl(catalog.getBaseUrl());
+            properties.getCache().setEnabled(false);
+            CatalogClientService client = new CatalogClientService(properties, new RestTemplate(), new ObjectMapper(), lookupExecutor(properties), orderMetrics);
+            OrderService service = new OrderService(orderRepository, client, orderViewCache, orderMetrics, liveOrderStats, orderWriteCoalescer, orderOutbox);
+            when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            List<OrderItem> orderItems = LongStream.rangeClosed(1, 12)
+                    .mapToObj(menuItemId -> new OrderItem(menuItemId, "Item " + menuItemId, 100.0, 1))
+                    .toList();
+
+            Order createdOrder = service.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+
+            assertEquals(1200.0, createdOrder.getTotalPrice());
+            assertEquals(1, catalog.getRequestCount());
+        }
+    }
+
+    @Test
+    void testCreateOrderWhenCatalogLookupFails() {
         OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
-        OrderItem item2 = new OrderItem(2L, "Burger", 99.0, 1);
-        List<OrderItem> orderItems = Arrays.asList(item1, item2);
+        List<OrderItem> orderItems = List.of(item1);
+
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L))).thenThrow(new RuntimeException("Connection refused"));
+
+        Exception exception = assertThrows(MenuItemNotFoundException.class, () -> {
+            orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        });
+        assertEquals("Menu items with restaurant id: 1 could not be retrieved", exception.getMessage());
+        verify(orderRepository, times(0)).save(any(Order.class));
+    }
+
+    @Test
+    void testCreateOrderWhenCatalogUnavailableFailsFast() {
+        List<OrderItem> orderItems = List.of(new OrderItem(1L, "Pizza", 199.0, 2));
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L)))
+                .thenThrow(new CatalogUnavailableException("Catalog service is unavailable, please retry later"));
+
+        Exception exception = assertThrows(CatalogUnavailableException.class, () -> {
+            orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        });
+
+        assertEquals("Catalog service is unavailable, please retry later", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testCreateOrdersResolvesMenuItemsOncePerRestaurant() {
+        OrderItem pizza = new OrderItem(1L, "Pizza", 199.0, 2);
+        OrderItem burger = new OrderItem(2L, "Burger", 99.0, 1);
+        OrderItem fries = new OrderItem(3L, "Fries", 49.0, 1);
+        OrderDto first = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(pizza, burger));
+        OrderDto second = new OrderDto(1L, 2L, "Kukatpally, Hyderabad", List.of(burger, fries));
+
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 2L, 3L))).thenReturn(Map.of(
+                1L, new MenuItemDto(1L, "Pizza", 199.0),
+                2L, new MenuItemDto(2L, "Burger", 99.0),
+                3L, new MenuItemDto(3L, "Fries", 49.0)));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchOrderResultDto> results = orderService.createOrders(List.of(first, second));
+
+        assertTrue(results.get(0).isCreated());
+        assertEquals(497.0, results.get(0).getTotalPrice());
+        assertTrue(results.get(1).isCreated());
+        assertEquals(148.0, results.get(1).getTotalPrice());
+        verify(catalogClientService, times(1)).getMenuItemsByIdsAndRestaurantId(any(), any());
+        verify(orderRepository, times(1)).saveAll(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testCreateOrdersReportsInvalidOrdersWithoutFailingTheBatch() {
+        OrderItem pizza = new OrderItem(1L, "Pizza", 199.0, 2);
+        OrderItem unknown = new OrderItem(10L, "Pasta", 150.0, 1);
+        OrderDto valid = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(pizza));
+        OrderDto missingCustomer = new OrderDto(1L, null, "Nizampet, Hyderabad", List.of(pizza));
+        OrderDto unknownMenuItem = new OrderDto(1L, 1L, "Nizampet, Hyderabad", List.of(unknown));
+        OrderDto missingRestaurant = new OrderDto(null, 1L, "Nizampet, Hyderabad", List.of(pizza));
+
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L, 10L))).thenReturn(Map.of(1L, new MenuItemDto(1L, "Pizza", 199.0)));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchOrderResultDto> results = orderService.createOrders(List.of(valid, missingCustomer, unknownMenuItem, missingRestaurant));
+
+        assertTrue(results.get(0).isCreated());
+        assertEquals("Customer ID cannot be null and must be greater than zero", results.get(1).getError());
+        assertEquals("Menu item with restaurant id: 1 and menu item id: 10 is not found", results.get(2).getError());
+        assertEquals("Restaurant ID cannot be null and must be greater than zero", results.get(3).getError());
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((List<?>) orders).size() == 1));
+    }
+
+    @Test
+    void testCreateOrdersWithEmptyBatch() {
+        Exception exception = assertThrows(OrdersCannotBeNullOrEmptyException.class, () -> {
+            orderService.createOrders(Collections.emptyList());
+        });
+        assertEquals("Orders cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void testGetOrdersReturnsPagesWithNextCursor() {
+        OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
+        List<OrderItem> orderItems = Collections.singletonList(item1);
+        Order order1 = orderWithId(1L, orderItems);
+        Order order2 = orderWithId(2L, orderItems);
+        Order order3 = orderWithId(3L, orderItems);
+
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(Arrays.asList(order1, order2, order3));
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(order3));
 
-        Order order1 = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
-        Order order2 = new Order(2L, 1L, "Nizampet, Hyderabad", orderItems);
-        List<Order> expectedOrders = Arrays.asList(order1, order2);
+        OrderPageDto firstPage = orderService.getOrders(null, 2);
+        OrderPageDto secondPage = orderService.getOrders(firstPage.getNextCursor(), 2);
+
+        assertEquals(Arrays.asList(order1, order2), firstPage.getOrders());
+        assertEquals(List.of(order3), secondPage.getOrders());
+        assertNull(secondPage.getNextCursor());
+        verify(orderRepository, never()).findAll();
+    }
 
-        when(orderRepository.findAll()).thenReturn(expectedOrders);
+    @Test
+    void testGetOrdersWhenNoOrders() {
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(OrderService.DEFAULT_PAGE_SIZE + 1))).thenReturn(Collections.emptyList());
 
-        List<Order> orders = orderService.getAllOrders();
+        OrderPageDto page = orderService.getOrders(null, null);
 
-        assertEquals(2, orders.size());
-        assertEquals(expectedOrders, orders);
+        assertEquals(0, page.getOrders().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetOrdersWhenNoAllOrders() {
-        when(orderRepository.findAll()).thenReturn(Collections.emptyList());
+    void testGetOrdersWithFilterUsesSpecificationQuery() {
+        List<OrderItem> orderItems = Collections.singletonList(new OrderItem(1L, "Pizza", 199.0, 2));
+        doReturn(Arrays.asList(orderWithId(4L, orderItems), orderWithId(9L, orderItems), orderWithId(12L, orderItems)))
+                .when(orderRepository).findBy(any(Specification.class), any());
+        OrderFilterDto filter = new OrderFilterDto(1L, null, OrderStatus.CREATED, null, null);
 
-        List<Order> orders = orderService.getAllOrders();
+        OrderPageDto page = orderService.getOrders(filter, null, 2);
 
-        assertEquals(0, orders.size());
+        assertEquals(List.of(4L, 9L), page.getOrders().stream().map(Order::getId).toList());
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString("9".getBytes(StandardCharsets.UTF_8)), page.getNextCursor());
+        verify(orderRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
     }
 
+    @Test
+    void testGetOrdersWithNegativeCustomerIdFilter() {
+        OrderFilterDto filter = new OrderFilterDto(null, -1L, null, null, null);
+
+        Exception exception = assertThrows(CustomerIdCannotBeNullOrNegativeException.class, () -> {
+            orderService.getOrders(filter, null, null);
+        });
+
+        assertEquals("Customer ID cannot be null and must be greater than zero", exception.getMessage());
+        verify(orderRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testGetOrdersWithInvertedCreatedAtFilter() {
+        OrderFilterDto filter = new OrderFilterDto(null, null, null, Instant.parse("2024-02-01T00:00:00Z"), Instant.parse("2024-01-01T00:00:00Z"));
+
+        Exception exception = assertThrows(InvalidOrderFilterRangeException.class, () -> {
+            orderService.getOrders(filter, null, null);
+        });
+
+        assertEquals("'from' must be before 'to'", exception.getMessage());
+        verify(orderRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testGetOrdersByIdsKeepsRequestOrderAndReportsMissingIds() {
+        List<OrderItem> orderItems = Collections.singletonList(new OrderItem(1L, "Pizza", 199.0, 2));
+        when(orderRepository.findByIdIn(List.of(3L, 99L, 1L))).thenReturn(List.of(orderWithId(1L, orderItems), orderWithId(3L, orderItems)));
+
+        OrderLookupResultDto result = orderService.getOrdersByIds(Arrays.asList(3L, 99L, 1L, 3L, null));
+
+        assertEquals(List.of(3L, 1L), result.getOrders().stream().map(Order::getId).toList());
+        assertEquals(List.of(99L), result.getMissingIds());
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetOrdersByIdsQueriesInChunks() {
+        List<Long> orderIds = LongStream.rangeClosed(1, 450).boxed().toList();
+        when(orderRepository.findByIdIn(any())).thenReturn(Collections.emptyList());
+
+        OrderLookupResultDto result = orderService.getOrdersByIds(orderIds);
+
+        assertEquals(orderIds, result.getMissingIds());
+        verify(orderRepository, times(3)).findByIdIn(any());
+    }
+
+    @Test
+    void testGetOrdersByIdsWithTooManyIds() {
+        List<Long> orderIds = LongStream.rangeClosed(1, OrderService.MAX_LOOKUP_IDS + 1).boxed().toList();
+
+        Exception exception = assertThrows(TooManyOrderIdsException.class, () -> {
+            orderService.getOrdersByIds(orderIds);
+        });
+
+        assertEquals("At most 1000 order IDs can be requested at once", exception.getMessage());
+        verify(orderRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void testGetOrdersWithInvalidCursor() {
+        Exception exception = assertThrows(InvalidOrderCursorException.class, () -> {
+            orderService.getOrders("not-a-cursor", 10);
+        });
+        assertEquals("Invalid cursor: not-a-cursor", exception.getMessage());
+    }
+
+    @Test
+    void testGetOrdersWithPageSizeOutOfRange() {
+        Exception exception = assertThrows(PageSizeOutOfRangeException.class, () -> {
+            orderService.getOrders(null, 101);
+        });
+        assertEquals("Page size must be between 1 and 100", exception.getMessage());
+    }
 
     @Test
     void testGetOrderByIdSuccessfully() {
@@ -247,24 +553,60 @@ class OrderServiceTest {
     }
 
     @Test
-    void testUpdateOrderStatusSuccessfully() {
-        OrderItem item1 = new OrderItem(1L, "Pizza", 199.0, 2);
-        List<OrderItem> orderItems = Collections.singletonList(item1);
-        Order order = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
+    void testGetOrderViewByIdIsServedFromCache() throws Exception {
+        Order expectedOrder = orderWithId(1L, new ArrayList<>(List.of(new OrderItem(1L, "Pizza", 199.0, 2))));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(expectedOrder));
+
+        byte[] first = orderService.getOrderViewById(1L);
+        byte[] second = orderService.getOrderViewById(1L);
+
+        assertEquals(new ObjectMapper().writeValueAsString(expectedOrder), new String(first, StandardCharsets.UTF_8));
+        assertSame(first, second);
+        verify(orderRepository, times(1)).findById(1L);
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "order.view", "result", "hit").functionCounter().count());
+    }
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderRepository.save(order)).thenReturn(order);
+    @Test
+    void testGetOrderViewByIdIsReloadedAfterStatusUpdate() {
+        Order expectedOrder = orderWithId(1L, new ArrayList<>(List.of(new OrderItem(1L, "Pizza", 199.0, 2))));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(expectedOrder));
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.of(1L));
 
-        Order updatedOrder = orderService.updateOrderStatus(1L);
+        orderService.getOrderViewById(1L);
+        orderService.updateOrderStatus(1L);
+        expectedOrder.setStatus(OrderStatus.OUT_FOR_DELIVERY);
+        byte[] view = orderService.getOrderViewById(1L);
 
-        assertEquals(OrderStatus.OUT_FOR_DELIVERY, updatedOrder.getStatus());
-        verify(orderRepository, times(1)).save(order);
+        assertTrue(new String(view, StandardCharsets.UTF_8).contains("OUT_FOR_DELIVERY"));
+        verify(orderRepository, times(2)).findById(1L);
     }
 
     @Test
-    void testUpdateOrderStatusWhenOrderNotFound() {
+    void testGetOrderViewByIdWhenOrderNotFoundIsNotCached() {
         when(orderRepository.findById(99L)).thenReturn(Optional.empty());
 
+        assertThrows(OrderNotFoundException.class, () -> orderService.getOrderViewById(99L));
+        assertThrows(OrderNotFoundException.class, () -> orderService.getOrderViewById(99L));
+
+        verify(orderRepository, times(2)).findById(99L);
+    }
+
+    @Test
+    void testUpdateOrderStatusSuccessfully() {
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.of(1L));
+
+        orderService.updateOrderStatus(1L);
+
+        verify(orderRepository, times(1)).updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testUpdateOrderStatusWhenOrderNotFound() {
+        when(orderRepository.updateStatusIfCurrent(99L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.empty());
+        when(orderRepository.existsById(99L)).thenReturn(false);
+
         Exception exception = assertThrows(OrderNotFoundException.class, () -> {
             orderService.updateOrderStatus(99L);
         });
@@ -272,4 +614,315 @@ class OrderServiceTest {
         assertEquals("Order not found with id: 99", exception.getMessage());
         verify(orderRepository, times(0)).save(any(Order.class));
     }
+
+    @Test
+    void testUpdateOrderStatusWhenOrderIsNotCreated() {
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.empty());
+        when(orderRepository.existsById(1L)).thenReturn(true);
+
+        Exception exception = assertThrows(CannotUpdateOrderStatusException.class, () -> {
+            orderService.updateOrderStatus(1L);
+        });
+
+        assertEquals("Order status can only be updated from CREATED to OUT FOR DELIVERY", exception.getMessage());
+    }
+
+    @Test
+    void testTransitionOrderStatusSuccessfully() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(statusView(1L, OrderStatus.CONFIRMED, 3L)));
+        when(orderRepository.compareAndSetStatus(1L, 3L, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(1);
+
+        orderService.transitionOrderStatus(1L, OrderStatus.OUT_FOR_DELIVERY);
+
+        verify(orderRepository, times(1)).compareAndSetStatus(1L, 3L, OrderStatus.OUT_FOR_DELIVERY);
+    }
+
+    @Test
+    void testStatusChangesAreCountedPerTransition() {
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.of(1L));
+        when(orderRepository.findStatusById(2L)).thenReturn(Optional.of(statusView(2L, OrderStatus.OUT_FOR_DELIVERY, 1L)));
+        when(orderRepository.compareAndSetStatus(2L, 1L, OrderStatus.DELIVERED)).thenReturn(1);
+
+        orderService.updateOrderStatus(1L);
+        orderService.transitionOrderStatus(2L, OrderStatus.DELIVERED);
+
+        assertEquals(1, meterRegistry.get("order.status.transitions").tags("from", "CREATED", "to", "OUT_FOR_DELIVERY").counter().count());
+        assertEquals(1, meterRegistry.get("order.status.transitions").tags("from", "OUT_FOR_DELIVERY", "to", "DELIVERED").counter().count());
+    }
+
+    @Test
+    void testTransitionOrderStatusRetriesWhenVersionChanged() {
+        when(orderRepository.findStatusById(1L)).thenReturn(
+                Optional.of(statusView(1L, OrderStatus.CREATED, 0L)),
+                Optional.of(statusView(1L, OrderStatus.CONFIRMED, 1L)));
+        when(orderRepository.compareAndSetStatus(1L, 0L, OrderStatus.CANCELLED)).thenReturn(0);
+        when(orderRepository.compareAndSetStatus(1L, 1L, OrderStatus.CANCELLED)).thenReturn(1);
+
+        orderService.transitionOrderStatus(1L, OrderStatus.CANCELLED);
+
+        verify(orderRepository, times(2)).findStatusById(1L);
+        verify(orderRepository, times(1)).compareAndSetStatus(1L, 1L, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void testTransitionOrderStatusGivesUpAfterBoundedRetries() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(statusView(1L, OrderStatus.CREATED, 0L)));
+        when(orderRepository.compareAndSetStatus(1L, 0L, OrderStatus.PENDING)).thenReturn(0);
+
+        Exception exception = assertThrows(OrderStatusConflictException.class, () -> {
+            orderService.transitionOrderStatus(1L, OrderStatus.PENDING);
+        });
+
+        assertEquals("Order with id: 1 was updated concurrently, please retry", exception.getMessage());
+        verify(orderRepository, times(OrderService.MAX_STATUS_UPDATE_ATTEMPTS)).compareAndSetStatus(1L, 0L, OrderStatus.PENDING);
+    }
+
+    @Test
+    void testTransitionOrderStatusWhenTransitionNotAllowed() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(statusView(1L, OrderStatus.DELIVERED, 4L)));
+
+        Exception exception = assertThrows(CannotUpdateOrderStatusException.class, () -> {
+            orderService.transitionOrderStatus(1L, OrderStatus.CANCELLED);
+        });
+
+        assertEquals("Order status cannot be updated from DELIVERED to CANCELLED", exception.getMessage());
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any());
+    }
+
+    @Test
+    void testTransitionOrderStatusWhenOrderNotFound() {
+        when(orderRepository.findStatusById(99L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(OrderNotFoundException.class, () -> {
+            orderService.transitionOrderStatus(99L, OrderStatus.CONFIRMED);
+        });
+
+        assertEquals("Order not found with id: 99", exception.getMessage());
+    }
+
+    @Test
+    void testDispatchOrdersReportsUpdatedNotFoundAndInvalidState() {
+        when(orderRepository.updateEachStatusIfCurrent(List.of(1L, 2L, 3L, 4L), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY))
+                .thenReturn(new int[]{1, 0, 0, 1});
+        when(orderRepository.findStatusesByIds(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                statusView(1L, OrderStatus.OUT_FOR_DELIVERY),
+                statusView(2L, OrderStatus.OUT_FOR_DELIVERY),
+                statusView(4L, OrderStatus.OUT_FOR_DELIVERY)));
+
+        BulkStatusUpdateResultDto result = orderService.dispatchOrders(List.of(4L, 2L, 1L, 3L, 1L));
+
+        assertEquals(List.of(1L, 4L), result.getUpdated());
+        assertEquals(List.of(3L), result.getNotFound());
+        assertEquals(List.of(2L), result.getInvalidState());
+    }
+
+    @Test
+    void testStatusChangesAreRecordedInTheOutbox() {
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY)).thenReturn(Optional.of(7L));
+        when(orderRepository.findStatusById(2L)).thenReturn(Optional.of(statusView(2L, OrderStatus.OUT_FOR_DELIVERY, 1L)));
+        when(orderRepository.compareAndSetStatus(2L, 1L, OrderStatus.DELIVERED)).thenReturn(1);
+
+        orderService.updateOrderStatus(1L);
+        orderService.transitionOrderStatus(2L, OrderStatus.DELIVERED);
+
+        verify(orderOutbox, times(1)).recordStatusChange(1L, 7L, OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY);
+        verify(orderOutbox, times(1)).recordStatusChange(2L, 1L, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void testDispatchOrdersRecordsOneOutboxBatchPerChunk() {
+        when(orderRepository.updateEachStatusIfCurrent(List.of(1L, 2L, 3L), OrderStatus.CREATED, OrderStatus.OUT_FOR_DELIVERY))
+                .thenReturn(new int[]{1, 0, 1});
+        when(orderRepository.findStatusesByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                statusView(1L, OrderStatus.OUT_FOR_DELIVERY),
+                statusView(2L, OrderStatus.OUT_FOR_DELIVERY),
+                statusView(3L, OrderStatus.OUT_FOR_DELIVERY)));
+
+        orderService.dispatchOrders(List.of(1L, 2L, 3L));
+
+        verify(orderOutbox, times(1)).recordStatusChanges(argThat(views -> views.stream().map(OrderStatusView::getId).toList().equals(List.of(1L, 3L))),
+                eq(OrderStatus.CREATED), eq(OrderStatus.OUT_FOR_DELIVERY));
+        verify(orderOutbox, never()).recordStatusChange(any(), any(), any(), any());
+    }
+
+    @Test
+    void testDispatchOrdersProcessesLargeRequestsInChunks() {
+        List<Long> orderIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(orderRepository.updateEachStatusIfCurrent(any(), eq(OrderStatus.CREATED), eq(OrderStatus.OUT_FOR_DELIVERY))).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            int[] counts = new int[chunk.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        when(orderRepository.findStatusesByIds(any())).thenAnswer(invocation -> {
+            Collection<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> statusView(id, OrderStatus.OUT_FOR_DELIVERY)).toList();
+        });
+
+        BulkStatusUpdateResultDto result = orderService.dispatchOrders(orderIds);
+
+        assertEquals(orderIds, result.getUpdated());
+        verify(orderRepository, times(3)).updateEachStatusIfCurrent(any(), eq(OrderStatus.CREATED), eq(OrderStatus.OUT_FOR_DELIVERY));
+        verify(orderRepository, times(3)).findStatusesByIds(any());
+    }
+
+    @Test
+    void testDispatchOrdersWithNoIds() {
+        Exception exception = assertThrows(OrdersCannotBeNullOrEmptyException.class, () -> {
+            orderService.dispatchOrders(List.of());
+        });
+
+        assertEquals("Order IDs cannot be null or empty", exception.getMessage());
+        verify(orderRepository, never()).updateEachStatusIfCurrent(any(), any(), any());
+    }
+
+    @Test
+    void testLiveStatsFollowCreateAndStatusChanges() {
+        List<OrderItem> orderItems = List.of(new OrderItem(1L, "Pizza", 199.0, 2));
+        when(catalogClientService.getMenuItemsByIdsAndRestaurantId(1L, List.of(1L))).thenReturn(Map.of(1L, new MenuItemDto(1L, "Pizza", 199.0)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(statusView(1L, OrderStatus.CREATED, 0L)));
+        when(orderRepository.compareAndSetStatus(1L, 0L, OrderStatus.CONFIRMED)).thenReturn(1);
+
+        orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        orderService.createOrder(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        orderService.transitionOrderStatus(1L, OrderStatus.CONFIRMED);
+
+        LiveOrderStatsDto stats = orderService.getLiveOrderStats(1L, 5).get(0);
+        assertEquals(2, stats.getOrdersCreated());
+        assertEquals(1L, stats.getStatusCounts().get(OrderStatus.CREATED));
+        assertEquals(1L, stats.getStatusCounts().get(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void testGetLiveOrderStatsWithMinutesOutsideWindow() {
+        Exception exception = assertThrows(InvalidStatsRangeException.class, () -> {
+            orderService.getLiveOrderStats(1L, 61);
+        });
+
+        assertEquals("Minutes must be between 1 and 60", exception.getMessage());
+    }
+
+    @Test
+    void testGetOrderStatsCombinesAggregates() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        when(orderRepository.sumTotals(1L, from, to)).thenReturn(totals(4L, 1200.0));
+        when(orderRepository.sumItemQuantities(1L, from, to)).thenReturn(10L);
+        when(orderRepository.countByStatus(1L, from, to)).thenReturn(List.of(
+                statusCount(OrderStatus.CREATED, 3L), statusCount(OrderStatus.DELIVERED, 1L)));
+
+        OrderStatsDto stats = orderService.getOrderStats(1L, from, to);
+
+        assertEquals(4, stats.getOrderCount());
+        assertEquals(1200.0, stats.getTotalRevenue());
+        assertEquals(2.5, stats.getAverageBasketSize());
+        assertEquals(3L, stats.getStatusBreakdown().get(OrderStatus.CREATED));
+        assertEquals(1L, stats.getStatusBreakdown().get(OrderStatus.DELIVERED));
+        assertEquals(0L, stats.getStatusBreakdown().get(OrderStatus.CANCELLED));
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetOrderStatsSkipsBreakdownWhenWindowIsEmpty() {
+        when(orderRepository.sumTotals(eq(1L), any(), any())).thenReturn(totals(0L, 0.0));
+
+        OrderStatsDto stats = orderService.getOrderStats(1L, null, null);
+
+        assertEquals(0, stats.getOrderCount());
+        assertEquals(0.0, stats.getAverageBasketSize());
+        assertEquals(Instant.EPOCH, stats.getFrom());
+        verify(orderRepository, never()).sumItemQuantities(any(), any(), any());
+        verify(orderRepository, never()).countByStatus(any(), any(), any());
+    }
+
+    @Test
+    void testGetOrderStatsWithInvalidRange() {
+        Instant from = Instant.parse("2024-02-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-01T00:00:00Z");
+
+        Exception exception = assertThrows(InvalidStatsRangeException.class, () -> {
+            orderService.getOrderStats(1L, from, to);
+        });
+
+        assertEquals("'from' must be before 'to'", exception.getMessage());
+        verify(orderRepository, never()).sumTotals(any(), any(), any());
+    }
+
+    @Test
+    void testGetOrderStatsWithNullRestaurantId() {
+        Exception exception = assertThrows(RestaurantIdCannotBeNullOrNegativeException.class, () -> {
+            orderService.getOrderStats(null, null, null);
+        });
+
+        assertEquals("Restaurant ID cannot be null and must be greater than zero", exception.getMessage());
+    }
+
+    private CatalogLookupExecutor lookupExecutor(CatalogClientProperties properties) {
+        CatalogLookupExecutor executor = new CatalogLookupExecutor(properties);
+        lookupExecutors.add(executor);
+        return executor;
+    }
+
+    private static OrderTotalsView totals(Long orderCount, Double totalRevenue) {
+        return new OrderTotalsView() {
+            @Override
+            public Long getOrderCount() {
+                return orderCount;
+            }
+
+            @Override
+            public Double getTotalRevenue() {
+                return totalRevenue;
+            }
+        };
+    }
+
+    private static OrderStatusCountView statusCount(OrderStatus status, Long orderCount) {
+        return new OrderStatusCountView() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getOrderCount() {
+                return orderCount;
+            }
+        };
+    }
+
+    private static OrderStatusView statusView(Long id, OrderStatus status) {
+        return statusView(id, status, 0L);
+    }
+
+    private static OrderStatusView statusView(Long id, OrderStatus status, Long version) {
+        return new OrderStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRestaurantId() {
+                return 1L;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static Order orderWithId(Long id, List<OrderItem> orderItems) {
+        Order order = new Order(1L, 1L, "Nizampet, Hyderabad", orderItems);
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
 }
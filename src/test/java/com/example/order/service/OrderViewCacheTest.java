@@ -0,0 +1,80 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderViewCacheProperties;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderViewCacheTest {
+
+    private final Order order = new Order(1L, 1L, "Nizampet, Hyderabad", List.of(new OrderItem(1L, "Pizza", 199.0, 2)));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testHitsAndMissesAreReportedToTheMeterRegistry() {
+        OrderViewCache cache = new OrderViewCache(new OrderViewCacheProperties(), new ObjectMapper(), new OrderMetrics(registry));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> load(loads));
+        cache.get(1L, id -> load(loads));
+        cache.get(1L, id -> load(loads));
+
+        assertEquals(2, registry.get("cache.gets").tags("cache", "order.view", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "order.view", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testInvalidationIsDeferredUntilTransactionCompletes() {
+        OrderViewCache cache = new OrderViewCache(new OrderViewCacheProperties(), new ObjectMapper(), new OrderMetrics(registry));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> load(loads));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAfterCommit(1L);
+        cache.get(1L, id -> load(loads));
+        assertEquals(1, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.get(1L, id -> load(loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        OrderViewCacheProperties properties = new OrderViewCacheProperties();
+        properties.setEnabled(false);
+        OrderViewCache cache = new OrderViewCache(properties, new ObjectMapper(), new OrderMetrics(registry));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> load(loads));
+        cache.get(1L, id -> load(loads));
+
+        assertEquals(2, loads.get());
+        assertTrue(registry.find("cache.gets").meters().isEmpty());
+    }
+
+    private Order load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return order;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.order.service;
+
+import com.example.order.config.OrderWriteCoalescerProperties;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.model.Order;
+import com.example.order.model.OrderItem;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderWriteCoalescerTest {
+
+    private final OrderOutbox orderOutbox = mock(OrderOutbox.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+    private OrderWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.destroy();
+    }
+
+    @Test
+    void testConcurrentWritesShareBatchesAndGetTheirOwnIds() throws Exception {
+        coalescer = coalescer(true, 64, Duration.ofMillis(50));
+        when(orderOutbox.saveNewOrders(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        int callers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Order>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                long customerId = i + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.save(() -> order(1L, customerId));
+                }));
+            }
+            start.countDown();
+
+            Set<Long> savedIds = new HashSet<>();
+            for (int i = 0; i < callers; i++) {
+                Order saved = results.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(i + 1L, saved.getCustomerId());
+                savedIds.add(saved.getId());
+            }
+            assertEquals(callers, savedIds.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DistributionSummary batchSizes = meterRegistry.get("order.write.batch.size").summary();
+        assertEquals(callers, (long) batchSizes.totalAmount());
+        assertTrue(batchSizes.count() < callers, "expected shared commits, got " + batchSizes.count() + " batches");
+        assertEquals(callers, meterRegistry.get("order.write.latency").timer().count());
+        verify(transactionManager, times((int) batchSizes.count())).commit(any());
+        verify(orderOutbox, never()).saveNewOrder(any(Order.class));
+    }
+
+    @Test
+    void testFailedBatchIsRetriedPerOrderSoOnlyTheBadOrderFails() throws Exception {
+        coalescer = coalescer(true, 2, Duration.ofSeconds(5));
+        when(orderOutbox.saveNewOrders(anyList())).thenThrow(new DataIntegrityViolationException("value too long"));
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            if (order.getCustomerId() == 13L) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return assignIds(List.of(order)).get(0);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Order> good = executor.submit(() -> coalescer.save(() -> order(1L, 1L)));
+            Future<Order> bad = executor.submit(() -> coalescer.save(() -> order(1L, 13L)));
+
+            assertNotNull(good.get(10, TimeUnit.SECONDS).getId());
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderOutbox, times(1)).saveNewOrders(anyList());
+        verify(orderOutbox, times(2)).saveNewOrder(any(Order.class));
+    }
+
+    @Test
+    void testCallersSaveDirectlyOnceTheWriterDies() {
+        coalescer = coalescer(true, 64, Duration.ofMillis(5));
+        when(orderOutbox.saveNewOrders(anyList())).thenThrow(new AssertionError("writer died"));
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> assignIds(List.of(invocation.<Order>getArgument(0))).get(0));
+
+        Order first = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> coalescer.save(() -> order(1L, 1L)));
+        Order second = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> coalescer.save(() -> order(1L, 2L)));
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        verify(orderOutbox, times(1)).saveNewOrders(anyList());
+        verify(orderOutbox, times(2)).saveNewOrder(any(Order.class));
+    }
+
+    @Test
+    void testOrderNotPickedUpWithinCommitTimeoutIsSavedDirectly() throws Exception {
+        coalescer = coalescer(true, 1, Duration.ofMillis(5));
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderOutbox.saveNewOrders(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return assignIds(invocation.getArgument(0));
+        });
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> assignIds(List.of(invocation.<Order>getArgument(0))).get(0));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Order> batched = executor.submit(() -> coalescer.save(() -> order(1L, 1L)));
+            assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+
+            Order direct = coalescer.save(() -> order(1L, 2L));
+            release.countDown();
+
+            assertEquals(2L, direct.getCustomerId());
+            assertNotNull(direct.getId());
+            assertEquals(1L, batched.get(10, TimeUnit.SECONDS).getCustomerId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(orderOutbox, times(1)).saveNewOrders(anyList());
+        verify(orderOutbox, times(1)).saveNewOrder(any(Order.class));
+    }
+
+    @Test
+    void testOrdersQueuedAtShutdownAreSavedByTheirCallers() throws Exception {
+        coalescer = coalescer(true, 1, Duration.ofMillis(5), Duration.ofSeconds(30));
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderOutbox.saveNewOrders(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            awaitUninterruptibly(release);
+            return assignIds(invocation.getArgument(0));
+        });
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> assignIds(List.of(invocation.<Order>getArgument(0))).get(0));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Order> batched = executor.submit(() -> coalescer.save(() -> order(1L, 1L)));
+            assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+            Future<Order> queued = executor.submit(() -> coalescer.save(() -> order(1L, 2L)));
+            Thread.sleep(100);
+
+            Future<?> stopping = executor.submit(() -> {
+                coalescer.destroy();
+                return null;
+            });
+            release.countDown();
+
+            assertEquals(1L, batched.get(10, TimeUnit.SECONDS).getCustomerId());
+            assertEquals(2L, queued.get(10, TimeUnit.SECONDS).getCustomerId());
+            stopping.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(orderOutbox, times(1)).saveNewOrder(any(Order.class));
+    }
+
+    @Test
+    void testDisabledCoalescerSavesOnTheCallingThread() {
+        coalescer = coalescer(false, 64, Duration.ofMillis(5));
+        when(orderOutbox.saveNewOrder(any(Order.class))).thenAnswer(invocation -> assignIds(List.of(invocation.<Order>getArgument(0))).get(0));
+
+        Order saved = coalescer.save(() -> order(1L, 1L));
+
+        assertFalse(coalescer.isEnabled());
+        assertNotNull(saved.getId());
+        verify(orderOutbox, never()).saveNewOrders(anyList());
+        verifyNoInteractions(transactionManager);
+    }
+
+    private OrderWriteCoalescer coalescer(boolean enabled, int maxBatchSize, Duration maxWait) {
+        return coalescer(enabled, maxBatchSize, maxWait, Duration.ofMillis(200));
+    }
+
+    private OrderWriteCoalescer coalescer(boolean enabled, int maxBatchSize, Duration maxWait, Duration commitTimeout) {
+        OrderWriteCoalescerProperties properties = new OrderWriteCoalescerProperties();
+        properties.setEnabled(enabled);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxWait(maxWait);
+        properties.setCommitTimeout(commitTimeout);
+        return new OrderWriteCoalescer(properties, orderOutbox, transactionManager, new OrderMetrics(meterRegistry));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // a JDBC call in flight is not cut short by interrupting the writer either
+            }
+        }
+    }
+
+    private List<Order> assignIds(List<Order> orders) {
+        orders.forEach(order -> ReflectionTestUtils.setField(order, "id", ids.incrementAndGet()));
+        return orders;
+    }
+
+    private static Order order(Long restaurantId, Long customerId) {
+        return new Order(restaurantId, customerId, "Nizampet, Hyderabad", new ArrayList<>(List.of(new OrderItem(1L, "Pizza", 199.0, 2))));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.order.support;
+
+import com.example.order.dto.OrderEventDto;
+import com.example.order.service.OrderEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+public class InMemoryOrderEventPublisher implements OrderEventPublisher {
+    private final List<List<OrderEventDto>> batches = new CopyOnWriteArrayList<>();
+    private volatile RuntimeException failure;
+    private volatile Predicate<OrderEventDto> rejected = event -> false;
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        if (failure != null) {
+            throw failure;
+        }
+        if (events.stream().anyMatch(rejected)) {
+            throw new IllegalArgumentException("event rejected by the broker");
+        }
+        batches.add(List.copyOf(events));
+    }
+
+    public void failWith(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    public void reject(Predicate<OrderEventDto> rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<List<OrderEventDto>> getBatches() {
+        return batches;
+    }
+
+    public List<OrderEventDto> getEvents() {
+        List<OrderEventDto> events = new ArrayList<>();
+        batches.forEach(events::addAll);
+        return events;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.order.support;
+
+import com.example.order.dto.MenuItemDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StubCatalogServer implements AutoCloseable {
+    private static final String PREFIX = "/catalog/restaurants/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, MenuItemDto> menuItems = new ConcurrentHashMap<>();
+    private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+    private final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+    private volatile boolean bulkEndpointEnabled;
+    private volatile int failureStatus;
+
+    public StubCatalogServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext(PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/catalog/restaurants";
+    }
+
+    public void addMenuItem(Long restaurantId, MenuItemDto menuItem) {
+        addMenuItem(restaurantId, menuItem, Duration.ZERO);
+    }
+
+    public void addMenuItem(Long restaurantId, MenuItemDto menuItem, Duration delay) {
+        menuItems.put(key(restaurantId, menuItem.getId()), menuItem);
+        delays.put(key(restaurantId, menuItem.getId()), delay);
+    }
+
+    public void setBulkEndpointEnabled(boolean bulkEndpointEnabled) {
+        this.bulkEndpointEnabled = bulkEndpointEnabled;
+    }
+
+    public void setFailureStatus(int failureStatus) {
+        this.failureStatus = failureStatus;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+        try {
+            serve(exchange);
+        } finally {
+            requestsInFlight.decrementAndGet();
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        if (failureStatus != 0) {
+            respond(exchange, failureStatus, "Injected failure");
+            return;
+        }
+        String[] segments = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        if (bulkEndpointEnabled && segments.length == 2 && segments[1].equals("menuItems")) {
+            handleBulk(exchange, segments[0]);
+            return;
+        }
+        if (segments.length != 3 || !segments[1].equals("menuItems")) {
+            respond(exchange, 404, "Not Found");
+            return;
+        }
+
+        String key = segments[0] + "/" + segments[2];
+        sleep(delays.getOrDefault(key, Duration.ZERO));
+        MenuItemDto menuItem = menuItems.get(key);
+        if (menuItem == null) {
+            respond(exchange, 404, "Menu item with ID '" + segments[2] + "' not found for restaurant with ID '" + segments[0] + "'");
+            return;
+        }
+        respond(exchange, 200, objectMapper.writeValueAsString(menuItem));
+    }
+
+    private void handleBulk(HttpExchange exchange, String restaurantId) throws IOException {
+        if (menuItems.keySet().stream().noneMatch(key -> key.startsWith(restaurantId + "/"))) {
+            respond(exchange, 404, "Restaurant with ID '" + restaurantId + "' not found");
+            return;
+        }
+        String query = exchange.getRequestURI().getQuery();
+        List<MenuItemDto> found = new ArrayList<>();
+        Duration slowest = Duration.ZERO;
+        if (query != null && query.startsWith("ids=")) {
+            for (String menuItemId : query.substring("ids=".length()).split(",")) {
+                String key = restaurantId + "/" + menuItemId;
+                if (menuItems.containsKey(key)) {
+                    found.add(menuItems.get(key));
+                    Duration delay = delays.getOrDefault(key, Duration.ZERO);
+                    slowest = delay.compareTo(slowest) > 0 ? delay : slowest;
+                }
+            }
+        }
+        sleep(slowest);
+        respond(exchange, 200, objectMapper.writeValueAsString(found));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", status == 200 ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String key(Long restaurantId, Long menuItemId) {
+        return restaurantId + "/" + menuItemId;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}